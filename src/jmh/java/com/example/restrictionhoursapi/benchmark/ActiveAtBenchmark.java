@@ -0,0 +1,114 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+import com.example.restrictionhoursapi.service.RestrictionHourSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.CATEGORIES;
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.DAYS;
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.FIRST_CATEGORY_CODE;
+
+/**
+ * "Everything restricted at this moment" across STORES stores x 7 days x CATEGORIES categories
+ * (280,000 rows, about a third of them overnight windows): the engine's (day, hour) index, a scan
+ * of every store's compiled schedule, and the findActiveAt query on the composite index.
+ *
+ * basketCheck / basketPerCode: a checkout basket of BASKET_SIZE category codes, half of them without
+ * restrictions, checked against one store in a single call and one isRestricted call per code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ActiveAtBenchmark {
+
+    private static final int STORES = 2_000;
+    private static final int BASKET_SIZE = 40;
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 30);
+
+    // Every seeded category code, then as many codes without rows
+    private static final int[] BASKET = IntStream.range(0, BASKET_SIZE)
+        .map(i -> FIRST_CATEGORY_CODE + i).toArray();
+
+    private ConfigurableApplicationContext context;
+    private RestrictionEvaluationEngine restrictionEvaluationEngine;
+    private RestrictionHourRepository restrictionHourRepository;
+
+    @Setup(Level.Trial)
+    public void seedDatabase() {
+        context = BenchmarkApplication.start();
+        restrictionEvaluationEngine = context.getBean(RestrictionEvaluationEngine.class);
+        restrictionHourRepository = context.getBean(RestrictionHourRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, STORES);
+        context.getBean(RestrictionHourSnapshot.class).load();
+        restrictionEvaluationEngine.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ActiveRestriction> activeIndex() {
+        return restrictionEvaluationEngine.getActiveAt(randomHour());
+    }
+
+    @Benchmark
+    public int scanAllSchedules() {
+        LocalDateTime at = randomHour();
+        int active = 0;
+        for (int storeId = 1; storeId <= STORES; storeId++) {
+            for (int categoryCode = FIRST_CATEGORY_CODE; categoryCode < FIRST_CATEGORY_CODE + CATEGORIES; categoryCode++) {
+                if (restrictionEvaluationEngine.isRestricted(storeId, categoryCode, at)) {
+                    active++;
+                }
+            }
+        }
+        return active;
+    }
+
+    @Benchmark
+    public int[] basketCheck() {
+        int storeId = 1 + ThreadLocalRandom.current().nextInt(STORES);
+        return restrictionEvaluationEngine.getRestrictedCategoryCodes(storeId, BASKET, randomHour());
+    }
+
+    @Benchmark
+    public int basketPerCode() {
+        int storeId = 1 + ThreadLocalRandom.current().nextInt(STORES);
+        LocalDateTime at = randomHour();
+        int restricted = 0;
+        for (int categoryCode : BASKET) {
+            if (restrictionEvaluationEngine.isRestricted(storeId, categoryCode, at)) {
+                restricted++;
+            }
+        }
+        return restricted;
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findActiveAt() {
+        int day = ThreadLocalRandom.current().nextInt(DAYS.length);
+        return restrictionHourRepository.findActiveAt(DAYS[day], DAYS[(day + DAYS.length - 1) % DAYS.length],
+            ThreadLocalRandom.current().nextInt(24));
+    }
+
+    private static LocalDateTime randomHour() {
+        return MONDAY.plusHours(ThreadLocalRandom.current().nextInt(7 * 24));
+    }
+}
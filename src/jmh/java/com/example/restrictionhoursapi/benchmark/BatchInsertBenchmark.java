@@ -0,0 +1,87 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.repository.RestrictionCategoryDictionary;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.DAYS;
+
+/**
+ * Bulk insert throughput of POST /batch, in rows per second:
+ * - jpaSaveAll: saveAll with IDENTITY ids, one INSERT round trip per row (previous path)
+ * - jdbcBatchInsert: RestrictionHourJdbcRepository.insertAll with JDBC batching (current path)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int ROWS = 5000;
+    private static final int FIRST_BENCHMARK_STORE_ID = 1_000_000;
+
+    private ConfigurableApplicationContext context;
+    private RestrictionHourRepository restrictionHourRepository;
+    private RestrictionHourJdbcRepository restrictionHourJdbcRepository;
+    private RestrictionCategoryDictionary restrictionCategoryDictionary;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private int nextStoreId = FIRST_BENCHMARK_STORE_ID;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkApplication.start();
+        restrictionHourRepository = context.getBean(RestrictionHourRepository.class);
+        restrictionHourJdbcRepository = context.getBean(RestrictionHourJdbcRepository.class);
+        restrictionCategoryDictionary = context.getBean(RestrictionCategoryDictionary.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteBenchmarkRows() {
+        jdbcTemplate.update("DELETE FROM restriction_hours WHERE store_id >= ?", FIRST_BENCHMARK_STORE_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<RestrictionHour> jpaSaveAll() {
+        List<RestrictionHour> rows = newRows();
+        restrictionCategoryDictionary.assignIds(rows);
+        return transactionTemplate.execute(status -> restrictionHourRepository.saveAll(rows));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<RestrictionHour> jdbcBatchInsert() {
+        List<RestrictionHour> rows = newRows();
+        return transactionTemplate.execute(status -> restrictionHourJdbcRepository.insertAll(rows));
+    }
+
+    private List<RestrictionHour> newRows() {
+        List<RestrictionHour> rows = new ArrayList<>(ROWS);
+        while (rows.size() < ROWS) {
+            int storeId = nextStoreId++;
+            for (int day = 0; day < DAYS.length && rows.size() < ROWS; day++) {
+                rows.add(new RestrictionHour(storeId, DAYS[day], "ALCOHOL", 101, "BEER", true, 6, 12));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.RestrictionHoursApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Starts the application with SQL logging off, for benchmarks that need real beans and the H2
+ * database: without the web layer, or with Tomcat on a random port for HTTP benchmarks. Also seeds
+ * the database with generated restriction hours.
+ */
+final class BenchmarkApplication {
+
+    static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+    static final int CATEGORIES = 20;
+    static final int FIRST_CATEGORY_CODE = 101;
+
+    // Passed as arguments: default properties would lose to application.yml
+    private static final String[] QUIET = {"--spring.jpa.show-sql=false", "--logging.level.root=WARN"};
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(RestrictionHoursApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(arguments(properties));
+    }
+
+    static ConfigurableApplicationContext startServer(String... properties) {
+        String[] withPort = Arrays.copyOf(properties, properties.length + 1);
+        withPort[properties.length] = "server.port=0";
+        return new SpringApplicationBuilder(RestrictionHoursApiApplication.class).run(arguments(withPort));
+    }
+
+    /**
+     * Replace all restriction hours with stores x 7 days x CATEGORIES rows; see seed(JdbcTemplate, int, int)
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int stores) {
+        seed(jdbcTemplate, stores, CATEGORIES);
+    }
+
+    /**
+     * Replace all restriction hours with one row per store (1..stores), day and category code
+     * (FIRST_CATEGORY_CODE onwards), alternating between ALCOHOL and TOBACCO. About two thirds have
+     * a six-hour window, starting at a different hour per store and category, and some wrap past midnight.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int stores, int categories) {
+        jdbcTemplate.update("DELETE FROM restriction_hours");
+        jdbcTemplate.update(
+            "MERGE INTO restriction_category_names (category) KEY (category) VALUES ('ALCOHOL'), ('TOBACCO')");
+        jdbcTemplate.update(
+            "MERGE INTO restriction_categories (category, category_desc, name_id) KEY (category, category_desc) " +
+            "SELECT n.category, CONCAT('CATEGORY ', X), n.id FROM SYSTEM_RANGE(1, " + categories + ") " +
+            "JOIN restriction_category_names n ON n.category = CASEWHEN(MOD(X, 2) = 0, 'ALCOHOL', 'TOBACCO')");
+        jdbcTemplate.update(
+            "INSERT INTO restriction_hours (store_id, day_of_week, category_id, category_name_id, category_code, " +
+            "has_restriction_hour, start_hour, end_hour) " +
+            "SELECT s.X, d.X, cat.id, cat.name_id, " + (FIRST_CATEGORY_CODE - 1) + " + c.X, MOD(s.X + c.X, 3) <> 0, " +
+            "MOD(s.X + c.X, 24), MOD(s.X + c.X + 6, 24) " +
+            "FROM SYSTEM_RANGE(1, " + stores + ") s " +
+            "CROSS JOIN SYSTEM_RANGE(1, 7) d " +
+            "CROSS JOIN SYSTEM_RANGE(1, " + categories + ") c " +
+            "JOIN restriction_categories cat ON cat.category = CASEWHEN(MOD(c.X, 2) = 0, 'ALCOHOL', 'TOBACCO') " +
+            "AND cat.category_desc = CONCAT('CATEGORY ', c.X)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String[] arguments(String... properties) {
+        String[] args = Arrays.copyOf(QUIET, QUIET.length + properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            args[QUIET.length + i] = "--" + properties[i];
+        }
+        return args;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException;
+import com.example.restrictionhoursapi.service.RestrictionHourService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.DAYS;
+
+/**
+ * Time for RestrictionHourService.createRestrictionHours to validate a batch, detect its
+ * conflicts and reject it, per batch. Nothing is written, the transaction is rolled back.
+ * - duplicateInBatch: new rows, the last one repeating the first (DUPLICATE_IN_BATCH)
+ * - alreadyStored: every row already in the database (ALREADY_EXISTS)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateDetectionBenchmark {
+
+    private static final int FIRST_NEW_STORE_ID = 1_000_000;
+    private static final int FIRST_STORED_STORE_ID = 2_000_000;
+
+    @Param({"100", "1000", "10000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private RestrictionHourService restrictionHourService;
+    private List<RestrictionHour> duplicateBatch;
+    private List<RestrictionHour> storedBatch;
+
+    @Setup(Level.Trial)
+    public void prepareBatches() {
+        context = BenchmarkApplication.start();
+        restrictionHourService = context.getBean(RestrictionHourService.class);
+
+        duplicateBatch = rows(FIRST_NEW_STORE_ID, batchSize - 1);
+        RestrictionHour first = duplicateBatch.get(0);
+        duplicateBatch.add(new RestrictionHour(first.getStoreId(), first.getDayOfWeek(), first.getCategory(),
+            first.getCategoryCode(), first.getCategoryDesc(), true, 8, 14));
+
+        context.getBean(RestrictionHourJdbcRepository.class).insertAll(rows(FIRST_STORED_STORE_ID, batchSize));
+        storedBatch = rows(FIRST_STORED_STORE_ID, batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.getBean(JdbcTemplate.class)
+            .update("DELETE FROM restriction_hours WHERE store_id >= ?", FIRST_NEW_STORE_ID);
+        context.close();
+    }
+
+    @Benchmark
+    public int duplicateInBatch() {
+        return rejectedRows(duplicateBatch);
+    }
+
+    @Benchmark
+    public int alreadyStored() {
+        return rejectedRows(storedBatch);
+    }
+
+    private int rejectedRows(List<RestrictionHour> batch) {
+        try {
+            restrictionHourService.createRestrictionHours(batch);
+            throw new IllegalStateException("Batch was expected to be rejected");
+        } catch (RestrictionHourConflictException e) {
+            return e.getConflicts().size();
+        }
+    }
+
+    private static List<RestrictionHour> rows(int firstStoreId, int count) {
+        List<RestrictionHour> rows = new ArrayList<>(count);
+        for (int storeId = firstStoreId; rows.size() < count; storeId++) {
+            for (int day = 0; day < DAYS.length && rows.size() < count; day++) {
+                rows.add(new RestrictionHour(storeId, DAYS[day], "ALCOHOL", 101, "BEER", true, 6, 12));
+            }
+        }
+        return rows;
+    }
+}
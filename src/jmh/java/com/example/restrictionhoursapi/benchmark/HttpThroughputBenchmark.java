@@ -0,0 +1,83 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests/sec of GET endpoints over HTTP with CLIENTS concurrent clients, with Tomcat on its
+ * platform thread pool (virtualThreads=false) or on virtual threads (virtualThreads=true, JDK 21).
+ * byId always queries H2; byStore is mostly answered from the read cache. Pinned virtual threads
+ * are reported on stdout through -Djdk.tracePinnedThreads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(HttpThroughputBenchmark.CLIENTS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djdk.tracePinnedThreads=short"})
+public class HttpThroughputBenchmark {
+
+    static final int CLIENTS = 400;
+
+    private static final int STORES = 1_000;
+    private static final int CATEGORIES = 4;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true needs a JDK 21 runtime");
+        }
+        context = BenchmarkApplication.startServer("spring.threads.virtual.enabled=" + virtualThreads);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, STORES, CATEGORIES);
+        maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM restriction_hours", Long.class);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/restriction-hours";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public int byId() throws IOException, InterruptedException {
+        long minId = maxId - (long) STORES * 7 * CATEGORIES + 1;
+        return get("/" + ThreadLocalRandom.current().nextLong(minId, maxId + 1));
+    }
+
+    @Benchmark
+    public int byStore() throws IOException, InterruptedException {
+        return get("/store/" + ThreadLocalRandom.current().nextInt(1, STORES + 1));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.DAYS;
+
+/**
+ * Jackson serialization time of restriction hour lists as returned by the GET endpoints:
+ * - entities: RestrictionHour entities
+ * - views: RestrictionHourView projections (current GET responses)
+ * - viewsWithFields: views restricted to three fields, as with ?fields=dayOfWeek,startHour,endHour
+ *
+ * The ObjectMapper is built like Spring Boot's and output is discarded, so only serialization is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "140", "1000"})
+    private int size;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private ObjectWriter writer;
+    private ObjectWriter fieldsWriter;
+    private List<RestrictionHour> entities;
+    private List<RestrictionHourView> views;
+
+    @Setup(Level.Trial)
+    public void prepareLists() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .filters(RestrictionHourView.filterProvider(null))
+            .featuresToDisable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+        writer = objectMapper.writer();
+        fieldsWriter = objectMapper.writer(
+            RestrictionHourView.filterProvider(Set.of("dayOfWeek", "startHour", "endHour")));
+
+        entities = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int storeId = 1 + i / DAYS.length;
+            String day = DAYS[i % DAYS.length];
+            RestrictionHour restrictionHour = new RestrictionHour(storeId, day, "ALCOHOL", 101, "BEER", true, 6, 12);
+            restrictionHour.setId((long) i + 1);
+            restrictionHour.setVersion(0L);
+            entities.add(restrictionHour);
+            views.add(new RestrictionHourView((long) i + 1, storeId, day, "ALCOHOL", 101, "BEER", true, 6, 12, 0L));
+        }
+    }
+
+    @Benchmark
+    public void entities() throws IOException {
+        writer.writeValue(sink, entities);
+    }
+
+    @Benchmark
+    public void views() throws IOException {
+        writer.writeValue(sink, views);
+    }
+
+    @Benchmark
+    public void viewsWithFields() throws IOException {
+        fieldsWriter.writeValue(sink, views);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.CATEGORIES;
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.DAYS;
+import static com.example.restrictionhoursapi.benchmark.BenchmarkApplication.FIRST_CATEGORY_CODE;
+
+/**
+ * Latency of the RestrictionHourRepository finders behind the GET endpoints, against H2 seeded
+ * with STORES stores x 7 days x CATEGORIES categories (1.4M rows). Store, day and category are
+ * picked at random per call so results are not dominated by one hot row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryFinderBenchmark {
+
+    private static final int STORES = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int STORES_PER_LOOKUP = 10;
+
+    private ConfigurableApplicationContext context;
+    private RestrictionHourRepository restrictionHourRepository;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void seedDatabase() {
+        context = BenchmarkApplication.start();
+        restrictionHourRepository = context.getBean(RestrictionHourRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, STORES);
+        maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM restriction_hours", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<RestrictionHourView> findViewById() {
+        return restrictionHourRepository.findViewById(ThreadLocalRandom.current().nextLong(1, maxId + 1));
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findByStoreId() {
+        return restrictionHourRepository.findByStoreId(randomStoreId());
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findByStoreIdAndDayOfWeek() {
+        return restrictionHourRepository.findByStoreIdAndDayOfWeek(randomStoreId(), randomDay());
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findByStoreIdIn() {
+        List<Integer> storeIds = new ArrayList<>(STORES_PER_LOOKUP);
+        for (int i = 0; i < STORES_PER_LOOKUP; i++) {
+            storeIds.add(randomStoreId());
+        }
+        return restrictionHourRepository.findByStoreIdIn(storeIds);
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findByCategoryCode() {
+        return restrictionHourRepository.findByCategoryCode(randomCategoryCode());
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findPageByDayOfWeekAfter() {
+        return restrictionHourRepository.findPageByDayOfWeekAfter(randomDay(), randomStoreId(), 0L,
+            PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findPageByCategoryCodeAfter() {
+        return restrictionHourRepository.findPageByCategoryCodeAfter(randomCategoryCode(), randomStoreId(), 0L,
+            PageRequest.of(0, PAGE_SIZE));
+    }
+
+    private static int randomStoreId() {
+        return ThreadLocalRandom.current().nextInt(1, STORES + 1);
+    }
+
+    private static String randomDay() {
+        return DAYS[ThreadLocalRandom.current().nextInt(DAYS.length)];
+    }
+
+    private static int randomCategoryCode() {
+        return FIRST_CATEGORY_CODE + ThreadLocalRandom.current().nextInt(CATEGORIES);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.service.RestrictionHourValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of RestrictionHourValidator.validate per row, in nanoseconds:
+ * - validRow: a row that passes every check
+ * - lowerCaseDay: a valid row whose day of week has to be normalized
+ * - invalidRow: a row rejected on its hours, including building the message
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final RestrictionHourValidator restrictionHourValidator = new RestrictionHourValidator();
+
+    @Benchmark
+    public RestrictionHour validRow() {
+        RestrictionHour restrictionHour = new RestrictionHour(1, "Friday", "ALCOHOL", 101, "BEER", true, 6, 12);
+        restrictionHourValidator.validate(restrictionHour);
+        return restrictionHour;
+    }
+
+    @Benchmark
+    public RestrictionHour lowerCaseDay() {
+        RestrictionHour restrictionHour = new RestrictionHour(1, " sunday ", "ALCOHOL", 101, "BEER", true, 6, 12);
+        restrictionHourValidator.validate(restrictionHour);
+        return restrictionHour;
+    }
+
+    @Benchmark
+    public String invalidRow() {
+        RestrictionHour restrictionHour = new RestrictionHour(1, "Friday", "ALCOHOL", 101, "BEER", true, 6, 30);
+        return restrictionHourValidator.validate(restrictionHour);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.restrictionhoursapi.benchmark;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine;
+import com.example.restrictionhoursapi.service.RestrictionHourSnapshot;
+import com.example.restrictionhoursapi.service.RestrictionHourSnapshotFile;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup loading of the read models for STORES stores x 7 days x CATEGORIES categories (280,000 rows):
+ * - findAllViews / findAllEntities: the queries RestrictionHourSnapshot and RestrictionEvaluationEngine
+ *   each ran on every start before the snapshot file (the engine now compiles from the snapshot)
+ * - snapshotFile: memory-mapped read of the saved snapshot, including the fingerprint query
+ * - engineLoad: compiling every store's schedule and the active-hour index from the loaded snapshot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WarmStartBenchmark {
+
+    private static final int STORES = 2_000;
+
+    private Path snapshotPath;
+    private ConfigurableApplicationContext context;
+    private RestrictionHourRepository restrictionHourRepository;
+    private RestrictionHourSnapshotFile restrictionHourSnapshotFile;
+    private RestrictionEvaluationEngine restrictionEvaluationEngine;
+
+    @Setup(Level.Trial)
+    public void seedDatabase() throws IOException {
+        snapshotPath = Files.createTempFile("restrictionhours", ".snapshot");
+        Files.delete(snapshotPath);
+        context = BenchmarkApplication.start("restriction-hours.snapshot-file=" + snapshotPath);
+        restrictionHourRepository = context.getBean(RestrictionHourRepository.class);
+        restrictionHourSnapshotFile = context.getBean(RestrictionHourSnapshotFile.class);
+        restrictionEvaluationEngine = context.getBean(RestrictionEvaluationEngine.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, STORES);
+
+        RestrictionHourSnapshot restrictionHourSnapshot = context.getBean(RestrictionHourSnapshot.class);
+        restrictionHourSnapshot.load();
+        restrictionHourSnapshot.save();
+        if (restrictionHourSnapshotFile.read().isEmpty()) {
+            throw new IllegalStateException("Snapshot file was not written");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() throws IOException {
+        context.close();
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Benchmark
+    public List<RestrictionHourView> findAllViews() {
+        return restrictionHourRepository.findAllViews();
+    }
+
+    @Benchmark
+    public List<RestrictionHour> findAllEntities() {
+        return restrictionHourRepository.findAll();
+    }
+
+    @Benchmark
+    public Optional<List<RestrictionHourView>> snapshotFile() {
+        return restrictionHourSnapshotFile.read();
+    }
+
+    @Benchmark
+    public RestrictionEvaluationEngine engineLoad() {
+        restrictionEvaluationEngine.load();
+        return restrictionEvaluationEngine;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.restrictionhoursapi.config;
+
+import com.example.restrictionhoursapi.service.StreamingPermits;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Dedicated executor for Spring MVC async responses: StreamingResponseBody (/export) and the Flux
+ * returned by the reactive endpoints, which MVC drains with blocking servlet writes.
+ *
+ * Without it MVC falls back to the shared applicationTaskExecutor. Here the pool has one thread per
+ * StreamingPermits permit and a queue of the same size: an admitted stream runs at most one task
+ * at a time, so the queue never fills, and streams beyond the permits get 503 instead of waiting.
+ * With virtual threads enabled, each task gets its own virtual thread and the permits alone bound
+ * the number of streams.
+ *
+ * The executor is not registered as a bean, so applicationTaskExecutor stays in place for
+ * everything else.
+ */
+@Configuration
+public class AsyncStreamingConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor executor;
+
+    public AsyncStreamingConfig(StreamingPermits streamingPermits,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("stream-");
+            virtual.setVirtualThreads(true);
+            this.executor = virtual;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("stream-");
+            pool.setCorePoolSize(streamingPermits.getMaxConcurrent());
+            pool.setMaxPoolSize(streamingPermits.getMaxConcurrent());
+            pool.setQueueCapacity(streamingPermits.getMaxConcurrent());
+            pool.setAllowCoreThreadTimeOut(true);
+            pool.initialize();
+            this.executor = pool;
+        }
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
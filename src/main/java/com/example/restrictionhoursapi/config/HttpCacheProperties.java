@@ -0,0 +1,50 @@
+package com.example.restrictionhoursapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache-Control max-age of the GET endpoints, configured under restriction-hours.http-cache.
+ * A max-age of zero sends no-cache: clients may keep the response but must revalidate it
+ * with its ETag before every use.
+ */
+@Component
+@ConfigurationProperties(prefix = "restriction-hours.http-cache")
+public class HttpCacheProperties {
+
+    private Duration maxAge = Duration.ZERO;
+    private Map<String, Duration> endpoints = new HashMap<>();
+
+    /**
+     * Cache-Control header for the given endpoint, falling back to the default max-age
+     */
+    public CacheControl cacheControl(String endpoint) {
+        Duration endpointMaxAge = endpoints.getOrDefault(endpoint, maxAge);
+        return endpointMaxAge.isZero() || endpointMaxAge.isNegative()
+            ? CacheControl.noCache()
+            : CacheControl.maxAge(endpointMaxAge);
+    }
+
+    // Getters
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public Map<String, Duration> getEndpoints() {
+        return endpoints;
+    }
+
+    // Setters
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public void setEndpoints(Map<String, Duration> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restrictionhoursapi.config;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Register the RestrictionHourView fields filter so views serialize in full unless a
+     * response asks for specific fields
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer restrictionHourViewFilterCustomizer() {
+        return builder -> builder.filters(RestrictionHourView.filterProvider(null));
+    }
+}
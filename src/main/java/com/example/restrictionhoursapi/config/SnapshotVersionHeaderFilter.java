@@ -0,0 +1,44 @@
+package com.example.restrictionhoursapi.config;
+
+import com.example.restrictionhoursapi.service.RestrictionHourReplication;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * In replicated mode, tells API clients how current the answering node is:
+ * - X-Snapshot-Version: latest version of the shared change log applied by this node
+ * - X-Snapshot-Staleness-Millis: time since this node last caught up with the log
+ *
+ * Both are taken when the request starts, before the response body is written.
+ */
+@Component
+@ConditionalOnProperty(prefix = "restriction-hours.replication", name = "enabled", havingValue = "true")
+public class SnapshotVersionHeaderFilter extends OncePerRequestFilter {
+
+    public static final String VERSION_HEADER = "X-Snapshot-Version";
+    public static final String STALENESS_HEADER = "X-Snapshot-Staleness-Millis";
+
+    @Autowired
+    private RestrictionHourReplication restrictionHourReplication;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/restriction-hours");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.setHeader(VERSION_HEADER, Long.toString(restrictionHourReplication.getAppliedVersion()));
+        response.setHeader(STALENESS_HEADER, Long.toString(restrictionHourReplication.getStalenessMillis()));
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,52 +1,131 @@
 package com.example.restrictionhoursapi.controller;
 
+import com.example.restrictionhoursapi.config.HttpCacheProperties;
 import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.service.BatchDeleteResult;
+import com.example.restrictionhoursapi.service.ImportReport;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.StoreSchedule;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.RowConflict;
+import com.example.restrictionhoursapi.service.RestrictionHourExportService;
+import com.example.restrictionhoursapi.service.RestrictionHourImportService;
+import com.example.restrictionhoursapi.service.RestrictionHourMetrics;
 import com.example.restrictionhoursapi.service.RestrictionHourService;
+import com.example.restrictionhoursapi.service.RestrictionHourVersions;
+import com.example.restrictionhoursapi.service.RestrictionHourVersions.VersionStamp;
+import com.example.restrictionhoursapi.service.ScheduleReplaceResult;
+import com.example.restrictionhoursapi.service.StreamingPermits;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/restriction-hours")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class RestrictionHourController {
     
+    private static final Logger log = LoggerFactory.getLogger(RestrictionHourController.class);
+    
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
     @Autowired
     private RestrictionHourService restrictionHourService;
     
+    @Autowired
+    private RestrictionHourImportService restrictionHourImportService;
+    
+    @Autowired
+    private RestrictionHourExportService restrictionHourExportService;
+    
+    @Autowired
+    private RestrictionHourVersions restrictionHourVersions;
+    
+    @Autowired
+    private HttpCacheProperties httpCacheProperties;
+    
+    @Autowired
+    private RestrictionHourMetrics restrictionHourMetrics;
+    
+    @Autowired
+    private StreamingPermits streamingPermits;
+    
     // GET endpoints
+    // Every GET answers If-None-Match / If-Modified-Since from in-memory versions before reading any rows
     
     /**
-     * Get all restriction hours
-     * GET /api/restriction-hours
+     * Get all restriction hours, or one keyset page of them when limit or cursor is given
+     * GET /api/restriction-hours/getAllRestrictionHours?limit=100&cursor=...
      */
     @GetMapping("/getAllRestrictionHours")
-    public ResponseEntity<List<RestrictionHour>> getAllRestrictionHours() {
+    public ResponseEntity<?> getAllRestrictionHours(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = restrictionHourService.getAllRestrictionHours();
-            return ResponseEntity.ok(restrictionHours);
+            VersionStamp version = restrictionHourVersions.all();
+            if (isPaged(limit, cursor)) {
+                return conditionalGet(webRequest, version, "all", () -> withFields(
+                    restrictionHourService.getAllRestrictionHours(cursor, pageLimit(limit)), fields));
+            }
+            return conditionalGet(webRequest, version, "all", () -> withFields(
+                restrictionHourService.getAllRestrictionHours(), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Get restriction hour by ID
+     * Get restriction hour by ID; its ETag comes from the row's version
      * GET /api/restriction-hours/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RestrictionHour> getRestrictionHourById(@PathVariable Long id) {
+    public ResponseEntity<?> getRestrictionHourById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            Optional<RestrictionHour> restrictionHour = restrictionHourService.getRestrictionHourById(id);
-            return restrictionHour.map(ResponseEntity::ok)
+            Optional<RestrictionHourView> restrictionHour = restrictionHourService.getRestrictionHourById(id);
+            return restrictionHour.<ResponseEntity<?>>map(view -> conditionalGet(webRequest,
+                                     new VersionStamp(restrictionHourVersions.rowETag(view.id(), view.version()), -1),
+                                     "by-id", () -> withFields(view, fields)))
                                  .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -56,11 +135,15 @@ public class RestrictionHourController {
      * GET /api/restriction-hours/store/{storeId}
      */
     @GetMapping("/store/{storeId}")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursByStoreId(@PathVariable Integer storeId) {
+    public ResponseEntity<?> getRestrictionHoursByStoreId(
+            @PathVariable Integer storeId,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = restrictionHourService.getRestrictionHoursByStoreId(storeId);
-            return ResponseEntity.ok(restrictionHours);
+            return conditionalGet(webRequest, restrictionHourVersions.store(storeId), "store", () -> withFields(
+                restrictionHourService.getRestrictionHoursByStoreId(storeId), fields));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -70,72 +153,296 @@ public class RestrictionHourController {
      * GET /api/restriction-hours/store/{storeId}/day/{dayOfWeek}
      */
     @GetMapping("/store/{storeId}/day/{dayOfWeek}")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursByStoreIdAndDay(
-            @PathVariable Integer storeId, @PathVariable String dayOfWeek) {
+    public ResponseEntity<?> getRestrictionHoursByStoreIdAndDay(
+            @PathVariable Integer storeId, @PathVariable String dayOfWeek,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
+        try {
+            return conditionalGet(webRequest, restrictionHourVersions.store(storeId), "store-day", () -> withFields(
+                restrictionHourService.getRestrictionHoursByStoreIdAndDay(storeId, dayOfWeek), fields));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get the weekly restriction schedule of a store as hour bitmasks, with a strong ETag
+     * GET /api/restriction-hours/store/{storeId}/schedule
+     */
+    @GetMapping("/store/{storeId}/schedule")
+    public ResponseEntity<?> getStoreSchedule(@PathVariable Integer storeId, WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = 
-                restrictionHourService.getRestrictionHoursByStoreIdAndDay(storeId, dayOfWeek);
-            return ResponseEntity.ok(restrictionHours);
+            StoreSchedule schedule = restrictionHourService.getStoreSchedule(storeId);
+            VersionStamp version = new VersionStamp(schedule.getETag(),
+                restrictionHourVersions.store(storeId).lastModified());
+            return conditionalGet(webRequest, version, "schedule",
+                () -> new StoreScheduleResponse(storeId, schedule.getMasks()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Get restriction hours by day of week
-     * GET /api/restriction-hours/day/{dayOfWeek}
+     * Get restriction hours by day of week, optionally one keyset page at a time
+     * GET /api/restriction-hours/day/{dayOfWeek}?limit=100&cursor=...
      */
     @GetMapping("/day/{dayOfWeek}")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursByDay(@PathVariable String dayOfWeek) {
+    public ResponseEntity<?> getRestrictionHoursByDay(
+            @PathVariable String dayOfWeek,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = restrictionHourService.getRestrictionHoursByDay(dayOfWeek);
-            return ResponseEntity.ok(restrictionHours);
+            VersionStamp version = restrictionHourVersions.day(dayOfWeek);
+            if (isPaged(limit, cursor)) {
+                return conditionalGet(webRequest, version, "day", () -> withFields(
+                    restrictionHourService.getRestrictionHoursByDay(dayOfWeek, cursor, pageLimit(limit)), fields));
+            }
+            return conditionalGet(webRequest, version, "day", () -> withFields(
+                restrictionHourService.getRestrictionHoursByDay(dayOfWeek), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Get restriction hours by category code
-     * GET /api/restriction-hours/category/{categoryCode}
+     * Get restriction hours by category code, optionally one keyset page at a time
+     * GET /api/restriction-hours/category/{categoryCode}?limit=100&cursor=...
      */
     @GetMapping("/category/{categoryCode}")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursByCategoryCode(@PathVariable Integer categoryCode) {
+    public ResponseEntity<?> getRestrictionHoursByCategoryCode(
+            @PathVariable Integer categoryCode,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = 
-                restrictionHourService.getRestrictionHoursByCategoryCode(categoryCode);
-            return ResponseEntity.ok(restrictionHours);
+            VersionStamp version = restrictionHourVersions.categoryCode(categoryCode);
+            if (isPaged(limit, cursor)) {
+                return conditionalGet(webRequest, version, "category", () -> withFields(
+                    restrictionHourService.getRestrictionHoursByCategoryCode(categoryCode, cursor, pageLimit(limit)),
+                    fields));
+            }
+            return conditionalGet(webRequest, version, "category", () -> withFields(
+                restrictionHourService.getRestrictionHoursByCategoryCode(categoryCode), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Get restriction hours that have restrictions enabled
-     * GET /api/restriction-hours/with-restrictions
+     * Get restriction hours that have restrictions enabled, optionally one keyset page at a time
+     * GET /api/restriction-hours/with-restrictions?limit=100&cursor=...
      */
     @GetMapping("/with-restrictions")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursWithRestrictions() {
+    public ResponseEntity<?> getRestrictionHoursWithRestrictions(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
         try {
-            List<RestrictionHour> restrictionHours = restrictionHourService.getRestrictionHoursWithRestrictions();
-            return ResponseEntity.ok(restrictionHours);
+            VersionStamp version = restrictionHourVersions.all();
+            if (isPaged(limit, cursor)) {
+                return conditionalGet(webRequest, version, "with-restrictions", () -> withFields(
+                    restrictionHourService.getRestrictionHoursWithRestrictions(cursor, pageLimit(limit)), fields));
+            }
+            return conditionalGet(webRequest, version, "with-restrictions", () -> withFields(
+                restrictionHourService.getRestrictionHoursWithRestrictions(), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Get restriction hours by multiple store IDs (comma-separated)
-     * GET /api/restriction-hours/stores?ids=1,2,3
+     * Get restriction hours by multiple store IDs (comma-separated), optionally one keyset page at a time
+     * GET /api/restriction-hours/stores?ids=1,2,3&limit=100&cursor=...
      */
     @GetMapping("/stores")
-    public ResponseEntity<List<RestrictionHour>> getRestrictionHoursByStoreIds(
-            @RequestParam("ids") List<Integer> storeIds) {
+    public ResponseEntity<?> getRestrictionHoursByStoreIds(
+            @RequestParam("ids") List<Integer> storeIds,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields,
+            WebRequest webRequest) {
+        try {
+            VersionStamp version = restrictionHourVersions.stores(storeIds);
+            if (isPaged(limit, cursor)) {
+                return conditionalGet(webRequest, version, "stores", () -> withFields(
+                    restrictionHourService.getRestrictionHoursByStoreIds(storeIds, cursor, pageLimit(limit)), fields));
+            }
+            return conditionalGet(webRequest, version, "stores", () -> withFields(
+                restrictionHourService.getRestrictionHoursByStoreIds(storeIds), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get restriction hours by multiple store IDs sent as a JSON array, for ID lists too long for a URL,
+     * optionally one keyset page at a time
+     * POST /api/restriction-hours/stores?limit=100&cursor=...
+     */
+    @PostMapping("/stores")
+    public ResponseEntity<?> getRestrictionHoursByStoreIdsInBody(
+            @RequestBody List<Integer> storeIds,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Set<String> fields) {
+        try {
+            if (isPaged(limit, cursor)) {
+                return ResponseEntity.ok(withFields(
+                    restrictionHourService.getRestrictionHoursByStoreIds(storeIds, cursor, pageLimit(limit)), fields));
+            }
+            return ResponseEntity.ok(withFields(restrictionHourService.getRestrictionHoursByStoreIds(storeIds), fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Stream all restriction hours, optionally filtered, as a JSON array, NDJSON or CSV.
+     * The body is written on the streaming executor under a StreamingPermits permit; 503 if none is free.
+     * GET /api/restriction-hours/export?format=ndjson&storeId=1&dayOfWeek=Monday&categoryCode=101
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRestrictionHours(
+            @RequestParam(defaultValue = "json") String format,
+            @RequestParam(required = false) Integer storeId,
+            @RequestParam(required = false) String dayOfWeek,
+            @RequestParam(required = false) Integer categoryCode) {
+        RestrictionHourExportService.Format exportFormat;
+        try {
+            exportFormat = RestrictionHourExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        MediaType contentType = switch (exportFormat) {
+            case JSON -> MediaType.APPLICATION_JSON;
+            case NDJSON -> MediaType.APPLICATION_NDJSON;
+            case CSV -> new MediaType("text", "csv");
+        };
+        if (!streamingPermits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                restrictionHourExportService.export(storeId, dayOfWeek, categoryCode, exportFormat, outputStream);
+            } finally {
+                streamingPermits.release();
+            }
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+    
+    /**
+     * Check whether a category is restricted at a store at a given time (defaults to now)
+     * GET /api/restriction-hours/check?storeId=1&categoryCode=101&at=2024-01-01T10:15
+     */
+    @GetMapping("/check")
+    public ResponseEntity<RestrictionCheckResponse> checkRestriction(
+            @RequestParam Integer storeId,
+            @RequestParam Integer categoryCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
         try {
-            List<RestrictionHour> restrictionHours = 
-                restrictionHourService.getRestrictionHoursByStoreIds(storeIds);
-            return ResponseEntity.ok(restrictionHours);
+            LocalDateTime checkedAt = at != null ? at : LocalDateTime.now();
+            boolean restricted = restrictionHourService.isRestricted(storeId, categoryCode, checkedAt);
+            return ResponseEntity.ok(new RestrictionCheckResponse(storeId, categoryCode, checkedAt, restricted));
         } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Check which category codes of a checkout basket, sent as a JSON array, are restricted at a store
+     * at a given time (defaults to now), in one call against the store's compiled schedule
+     * POST /api/restriction-hours/check/basket?storeId=1&at=2024-01-01T10:15
+     */
+    @PostMapping("/check/basket")
+    public ResponseEntity<?> checkBasket(
+            @RequestParam Integer storeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestBody int[] categoryCodes) {
+        try {
+            LocalDateTime checkedAt = at != null ? at : LocalDateTime.now();
+            int[] restricted = restrictionHourService.getRestrictedCategoryCodes(storeId, categoryCodes, checkedAt);
+            return ResponseEntity.ok(new BasketCheckResponse(storeId, checkedAt, restricted));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get every store and category code restricted at a moment, from the in-memory (day, hour) index
+     * GET /api/restriction-hours/active?at=2024-01-01T23:30&categoryCode=101
+     */
+    @GetMapping("/active")
+    public ResponseEntity<ActiveRestrictionsResponse> getActiveRestrictions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(required = false) Integer categoryCode) {
+        try {
+            LocalDateTime checkedAt = at != null ? at : LocalDateTime.now();
+            List<ActiveRestriction> active = restrictionHourService.getActiveRestrictions(checkedAt, categoryCode);
+            return ResponseEntity.ok(new ActiveRestrictionsResponse(checkedAt, active));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get the restriction hour rows active at a moment, including overnight windows from the previous day
+     * GET /api/restriction-hours/active/rows?at=2024-01-01T23:30
+     */
+    @GetMapping("/active/rows")
+    public ResponseEntity<?> getActiveRestrictionHours(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(required = false) Set<String> fields) {
+        try {
+            LocalDateTime checkedAt = at != null ? at : LocalDateTime.now();
+            return ResponseEntity.ok(withFields(restrictionHourService.getActiveRestrictionHours(checkedAt), fields));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get read cache statistics (hits, misses, evictions and size per cache)
+     * GET /api/restriction-hours/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheStatsResponse>> getReadCacheStats() {
+        try {
+            Map<String, Long> sizes = restrictionHourService.getReadCacheSizes();
+            Map<String, CacheStatsResponse> stats = new LinkedHashMap<>();
+            restrictionHourService.getReadCacheStats().forEach((name, cacheStats) ->
+                stats.put(name, new CacheStatsResponse(cacheStats, sizes.getOrDefault(name, 0L))));
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -150,21 +457,27 @@ public class RestrictionHourController {
     public ResponseEntity<?> createRestrictionHour(@Valid @RequestBody RestrictionHour restrictionHour) {
         try {
             RestrictionHour createdRestrictionHour = restrictionHourService.createRestrictionHour(restrictionHour);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdRestrictionHour);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                .eTag(restrictionHourVersions.rowETag(createdRestrictionHour.getId(), createdRestrictionHour.getVersion()))
+                                .body(createdRestrictionHour);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while creating the restriction hour"));
         }
     }
     
     /**
-     * Create multiple restriction hours
+     * Create multiple restriction hours. Rows are checked by RestrictionHourValidator, which reports
+     * every invalid row at once, so the body is not run through @Valid as well.
      * POST /api/restriction-hours/batch
      */
     @PostMapping("/batch")
-    public ResponseEntity<?> createRestrictionHours(@Valid @RequestBody List<RestrictionHour> restrictionHours) {
+    public ResponseEntity<?> createRestrictionHours(@RequestBody List<RestrictionHour> restrictionHours) {
         try {
             if (restrictionHours == null || restrictionHours.isEmpty()) {
                 return ResponseEntity.badRequest().body(new ErrorResponse("Restriction hours list cannot be empty"));
@@ -173,18 +486,57 @@ public class RestrictionHourController {
             List<RestrictionHour> createdRestrictionHours = 
                 restrictionHourService.createRestrictionHours(restrictionHours);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdRestrictionHours);
+        } catch (RestrictionHourConflictException e) {
+            return ResponseEntity.status(conflictStatus(e))
+                                .body(new BatchConflictResponse(e.getMessage(), e.getConflicts()));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while creating the restriction hours"));
         }
     }
     
+    /**
+     * Stream-import restriction hours from newline-delimited JSON
+     * POST /api/restriction-hours/import (Content-Type: application/x-ndjson)
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<?> importRestrictionHoursNdjson(InputStream body) {
+        return importRestrictionHours(body, RestrictionHourImportService.Format.NDJSON);
+    }
+    
+    /**
+     * Stream-import restriction hours from CSV with a header row
+     * POST /api/restriction-hours/import (Content-Type: text/csv)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importRestrictionHoursCsv(InputStream body) {
+        return importRestrictionHours(body, RestrictionHourImportService.Format.CSV);
+    }
+    
+    private ResponseEntity<?> importRestrictionHours(InputStream body, RestrictionHourImportService.Format format) {
+        try {
+            ImportReport report = restrictionHourImportService.importRestrictionHours(body, format);
+            return ResponseEntity.ok(report);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Chunks committed before the race stay imported; importing again reports them as ALREADY_EXISTS
+            return concurrentWriteConflict(e);
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while importing the restriction hours"));
+        }
+    }
+    
     // PUT endpoints
     
     /**
-     * Update restriction hour by composite key
+     * Update restriction hour by composite key. With If-Match (a row ETag from GET /{id} or an
+     * earlier write), the update only applies while the row is unchanged, otherwise 412.
      * PUT /api/restriction-hours/store/{storeId}/day/{dayOfWeek}/category/{category}/code/{categoryCode}
      */
     @PutMapping("/store/{storeId}/day/{dayOfWeek}/category/{category}/code/{categoryCode}")
@@ -193,31 +545,47 @@ public class RestrictionHourController {
             @PathVariable String dayOfWeek,
             @PathVariable String category,
             @PathVariable Integer categoryCode,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody RestrictionHour restrictionHour) {
         try {
             RestrictionHour updatedRestrictionHour = restrictionHourService.updateRestrictionHour(
-                storeId, dayOfWeek, category, categoryCode, restrictionHour);
-            return ResponseEntity.ok(updatedRestrictionHour);
+                storeId, dayOfWeek, category, categoryCode, restrictionHour, ifMatch);
+            return updated(updatedRestrictionHour);
+        } catch (RestrictionHourConflictException e) {
+            return ResponseEntity.status(conflictStatus(e))
+                                .body(new BatchConflictResponse(e.getMessage(), e.getConflicts()));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while updating the restriction hour"));
         }
     }
     
     /**
-     * Update restriction hour using request body for composite key
+     * Update restriction hour using request body for composite key, honouring If-Match like the
+     * path-based update
      * PUT /api/restriction-hours/update
      */
     @PutMapping("/update")
-    public ResponseEntity<?> updateRestrictionHour(@Valid @RequestBody RestrictionHour restrictionHour) {
+    public ResponseEntity<?> updateRestrictionHour(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody RestrictionHour restrictionHour) {
         try {
-            RestrictionHour updatedRestrictionHour = restrictionHourService.updateRestrictionHour(restrictionHour);
-            return ResponseEntity.ok(updatedRestrictionHour);
+            RestrictionHour updatedRestrictionHour = restrictionHourService.updateRestrictionHour(restrictionHour, ifMatch);
+            return updated(updatedRestrictionHour);
+        } catch (RestrictionHourConflictException e) {
+            return ResponseEntity.status(conflictStatus(e))
+                                .body(new BatchConflictResponse(e.getMessage(), e.getConflicts()));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while updating the restriction hour"));
         }
@@ -228,25 +596,54 @@ public class RestrictionHourController {
      * PUT /api/restriction-hours/batch-update
      */
     @PutMapping("/batch-update")
-    public ResponseEntity<?> updateRestrictionHours(@Valid @RequestBody List<RestrictionHour> restrictionHours) {
+    public ResponseEntity<?> updateRestrictionHours(@RequestBody List<RestrictionHour> restrictionHours) {
         try {
             if (restrictionHours == null || restrictionHours.isEmpty()) {
                 return ResponseEntity.badRequest().body(new ErrorResponse("Restriction hours list cannot be empty"));
             }
             
-            List<RestrictionHour> updatedRestrictionHours = restrictionHours.stream()
-                .map(rh -> restrictionHourService.updateRestrictionHour(rh))
-                .collect(Collectors.toList());
-                
+            List<RestrictionHour> updatedRestrictionHours = 
+                restrictionHourService.updateRestrictionHours(restrictionHours);
             return ResponseEntity.ok(updatedRestrictionHours);
+        } catch (RestrictionHourConflictException e) {
+            return ResponseEntity.status(conflictStatus(e))
+                                .body(new BatchConflictResponse(e.getMessage(), e.getConflicts()));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while updating the restriction hours"));
         }
     }
     
+    /**
+     * Replace the whole weekly schedule of a store: rows are inserted, updated or deleted so that
+     * the store has exactly the given rows, in one transaction; unchanged rows are not written
+     * PUT /api/restriction-hours/store/{storeId}/schedule
+     */
+    @PutMapping("/store/{storeId}/schedule")
+    public ResponseEntity<?> replaceStoreSchedule(@PathVariable Integer storeId,
+                                                  @RequestBody List<RestrictionHour> restrictionHours) {
+        try {
+            ScheduleReplaceResult result = restrictionHourService.replaceStoreSchedule(storeId, restrictionHours);
+            return ResponseEntity.ok(new ScheduleReplaceResponse("Store schedule replaced", storeId, result));
+        } catch (RestrictionHourConflictException e) {
+            return ResponseEntity.status(conflictStatus(e))
+                                .body(new BatchConflictResponse(e.getMessage(), e.getConflicts()));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return concurrentWriteConflict(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while replacing the store schedule"));
+        }
+    }
+    
     // DELETE endpoints
     
     /**
@@ -270,6 +667,7 @@ public class RestrictionHourController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while deleting the restriction hour"));
         }
@@ -292,6 +690,7 @@ public class RestrictionHourController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while deleting the restriction hour"));
         }
@@ -308,18 +707,126 @@ public class RestrictionHourController {
                 return ResponseEntity.badRequest().body(new ErrorResponse("Restriction hours list cannot be empty"));
             }
             
-            int deletedCount = restrictionHourService.deleteRestrictionHours(restrictionHours);
+            BatchDeleteResult result = restrictionHourService.deleteRestrictionHours(restrictionHours);
             return ResponseEntity.ok().body(new BatchDeleteResponse(
-                "Batch delete completed", deletedCount, restrictionHours.size()));
+                "Batch delete completed", result.deletedCount(), restrictionHours.size(), result.missingKeys()));
                 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
+            recordFailure(e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(new ErrorResponse("An error occurred while deleting the restriction hours"));
         }
     }
     
+    /**
+     * Log an unexpected failure and attach it to the request's http.server.requests observation,
+     * so the bare 500 responses still show up with an exception tag in the metrics
+     */
+    private void recordFailure(Exception e) {
+        log.error("Restriction hours request failed", e);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            ServerHttpObservationFilter.findObservationContext(attributes.getRequest())
+                .ifPresent(context -> context.setError(e));
+        }
+    }
+    
+    /**
+     * Answer 304 if the client already holds this version, otherwise build the body.
+     * Both responses carry ETag, Last-Modified (when known) and the endpoint's Cache-Control.
+     */
+    private ResponseEntity<?> conditionalGet(WebRequest webRequest, VersionStamp version, String endpoint,
+                                             Supplier<Object> body) {
+        CacheControl cacheControl = httpCacheProperties.cacheControl(endpoint);
+        // Also sets the ETag and Last-Modified response headers
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+    }
+    
+    /**
+     * Wrap a response body so that restriction hours in it only serialize the requested fields
+     */
+    private Object withFields(Object body, Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(RestrictionHourView.filterProvider(fields));
+        return value;
+    }
+    
+    private boolean isPaged(Integer limit, String cursor) {
+        return limit != null || cursor != null;
+    }
+    
+    private int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+    
+    /**
+     * 400 if any row is invalid, 404 if every rejected row was not found, 412 if every rejected row
+     * failed its If-Match, otherwise 409
+     */
+    private HttpStatus conflictStatus(RestrictionHourConflictException e) {
+        if (e.hasInvalidRows()) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (allRejectedFor(e, RestrictionHourConflictException.Reason.NOT_FOUND)) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (allRejectedFor(e, RestrictionHourConflictException.Reason.VERSION_MISMATCH)) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        return HttpStatus.CONFLICT;
+    }
+    
+    private boolean allRejectedFor(RestrictionHourConflictException e, RestrictionHourConflictException.Reason reason) {
+        return e.getConflicts().stream().allMatch(conflict -> conflict.reason() == reason);
+    }
+    
+    /**
+     * 409 for a write that lost a race with a concurrent one and was rolled back: a row inserted
+     * under the same composite key (unique constraint) or updated since it was read (@Version).
+     * Repeating the request re-reads the current rows.
+     */
+    private ResponseEntity<ErrorResponse> concurrentWriteConflict(DataAccessException e) {
+        log.debug("Restriction hours write lost a race with a concurrent write", e);
+        restrictionHourMetrics.conflict(RestrictionHourConflictException.Reason.CONCURRENT_WRITE);
+        String message = e instanceof OptimisticLockingFailureException
+            ? "Restriction hour was changed by a concurrent request; read it again and retry"
+            : "Restriction hour was written by a concurrent request under the same composite key; retry the request";
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(message));
+    }
+    
+    /**
+     * 200 with the updated row and its new ETag, to be sent as If-Match on the next update
+     */
+    private ResponseEntity<RestrictionHour> updated(RestrictionHour restrictionHour) {
+        return ResponseEntity.ok()
+                            .eTag(restrictionHourVersions.rowETag(restrictionHour.getId(), restrictionHour.getVersion()))
+                            .body(restrictionHour);
+    }
+    
+    /**
+     * Delete all restriction hours of a store
+     * DELETE /api/restriction-hours/store/{storeId}
+     */
+    @DeleteMapping("/store/{storeId}")
+    public ResponseEntity<?> deleteRestrictionHoursByStoreId(@PathVariable Integer storeId) {
+        try {
+            int deletedCount = restrictionHourService.deleteRestrictionHoursByStoreId(storeId);
+            return ResponseEntity.ok().body(new BatchDeleteResponse(
+                "Store restriction hours deleted", deletedCount, deletedCount, List.of()));
+        } catch (Exception e) {
+            recordFailure(e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ErrorResponse("An error occurred while deleting the store restriction hours"));
+        }
+    }
+    
     // Response classes
     public static class SuccessResponse {
         private String message;
@@ -353,12 +860,15 @@ public class RestrictionHourController {
         private String message;
         private int deletedCount;
         private int totalRequested;
+        private List<RestrictionHourKey> missingKeys;
         private long timestamp;
         
-        public BatchDeleteResponse(String message, int deletedCount, int totalRequested) {
+        public BatchDeleteResponse(String message, int deletedCount, int totalRequested,
+                                   List<RestrictionHourKey> missingKeys) {
             this.message = message;
             this.deletedCount = deletedCount;
             this.totalRequested = totalRequested;
+            this.missingKeys = missingKeys;
             this.timestamp = System.currentTimeMillis();
         }
         
@@ -375,6 +885,10 @@ public class RestrictionHourController {
             return totalRequested;
         }
         
+        public List<RestrictionHourKey> getMissingKeys() {
+            return missingKeys;
+        }
+        
         public long getTimestamp() {
             return timestamp;
         }
@@ -392,11 +906,358 @@ public class RestrictionHourController {
             this.totalRequested = totalRequested;
         }
         
+        public void setMissingKeys(List<RestrictionHourKey> missingKeys) {
+            this.missingKeys = missingKeys;
+        }
+        
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+    
+    public static class ScheduleReplaceResponse {
+        private String message;
+        private Integer storeId;
+        private int insertedCount;
+        private int updatedCount;
+        private int deletedCount;
+        private int unchangedCount;
+        private long timestamp;
+        
+        public ScheduleReplaceResponse(String message, Integer storeId, ScheduleReplaceResult result) {
+            this.message = message;
+            this.storeId = storeId;
+            this.insertedCount = result.insertedCount();
+            this.updatedCount = result.updatedCount();
+            this.deletedCount = result.deletedCount();
+            this.unchangedCount = result.unchangedCount();
+            this.timestamp = System.currentTimeMillis();
+        }
+        
+        // Getters
+        public String getMessage() {
+            return message;
+        }
+        
+        public Integer getStoreId() {
+            return storeId;
+        }
+        
+        public int getInsertedCount() {
+            return insertedCount;
+        }
+        
+        public int getUpdatedCount() {
+            return updatedCount;
+        }
+        
+        public int getDeletedCount() {
+            return deletedCount;
+        }
+        
+        public int getUnchangedCount() {
+            return unchangedCount;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        // Setters
+        public void setMessage(String message) {
+            this.message = message;
+        }
+        
+        public void setStoreId(Integer storeId) {
+            this.storeId = storeId;
+        }
+        
+        public void setInsertedCount(int insertedCount) {
+            this.insertedCount = insertedCount;
+        }
+        
+        public void setUpdatedCount(int updatedCount) {
+            this.updatedCount = updatedCount;
+        }
+        
+        public void setDeletedCount(int deletedCount) {
+            this.deletedCount = deletedCount;
+        }
+        
+        public void setUnchangedCount(int unchangedCount) {
+            this.unchangedCount = unchangedCount;
+        }
+        
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+    
+    public static class BatchConflictResponse {
+        private String message;
+        private List<RowConflict> conflicts;
+        private long timestamp;
+        
+        public BatchConflictResponse(String message, List<RowConflict> conflicts) {
+            this.message = message;
+            this.conflicts = conflicts;
+            this.timestamp = System.currentTimeMillis();
+        }
+        
+        // Getters
+        public String getMessage() {
+            return message;
+        }
+        
+        public List<RowConflict> getConflicts() {
+            return conflicts;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        // Setters
+        public void setMessage(String message) {
+            this.message = message;
+        }
+        
+        public void setConflicts(List<RowConflict> conflicts) {
+            this.conflicts = conflicts;
+        }
+        
         public void setTimestamp(long timestamp) {
             this.timestamp = timestamp;
         }
     }
     
+    public static class ActiveRestrictionsResponse {
+        private LocalDateTime at;
+        private int count;
+        private List<ActiveRestriction> restrictions;
+        
+        public ActiveRestrictionsResponse(LocalDateTime at, List<ActiveRestriction> restrictions) {
+            this.at = at;
+            this.count = restrictions.size();
+            this.restrictions = restrictions;
+        }
+        
+        // Getters
+        public LocalDateTime getAt() {
+            return at;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public List<ActiveRestriction> getRestrictions() {
+            return restrictions;
+        }
+        
+        // Setters
+        public void setAt(LocalDateTime at) {
+            this.at = at;
+        }
+        
+        public void setCount(int count) {
+            this.count = count;
+        }
+        
+        public void setRestrictions(List<ActiveRestriction> restrictions) {
+            this.restrictions = restrictions;
+        }
+    }
+    
+    public static class RestrictionCheckResponse {
+        private Integer storeId;
+        private Integer categoryCode;
+        private LocalDateTime at;
+        private boolean restricted;
+        
+        public RestrictionCheckResponse(Integer storeId, Integer categoryCode, LocalDateTime at, boolean restricted) {
+            this.storeId = storeId;
+            this.categoryCode = categoryCode;
+            this.at = at;
+            this.restricted = restricted;
+        }
+        
+        // Getters
+        public Integer getStoreId() {
+            return storeId;
+        }
+        
+        public Integer getCategoryCode() {
+            return categoryCode;
+        }
+        
+        public LocalDateTime getAt() {
+            return at;
+        }
+        
+        public boolean isRestricted() {
+            return restricted;
+        }
+        
+        // Setters
+        public void setStoreId(Integer storeId) {
+            this.storeId = storeId;
+        }
+        
+        public void setCategoryCode(Integer categoryCode) {
+            this.categoryCode = categoryCode;
+        }
+        
+        public void setAt(LocalDateTime at) {
+            this.at = at;
+        }
+        
+        public void setRestricted(boolean restricted) {
+            this.restricted = restricted;
+        }
+    }
+    
+    /**
+     * Category codes of a basket that are restricted at a store at a given time
+     */
+    public static class BasketCheckResponse {
+        private Integer storeId;
+        private LocalDateTime at;
+        private boolean restricted;
+        private int[] restrictedCategoryCodes;
+        
+        public BasketCheckResponse(Integer storeId, LocalDateTime at, int[] restrictedCategoryCodes) {
+            this.storeId = storeId;
+            this.at = at;
+            this.restricted = restrictedCategoryCodes.length > 0;
+            this.restrictedCategoryCodes = restrictedCategoryCodes;
+        }
+        
+        // Getters
+        public Integer getStoreId() {
+            return storeId;
+        }
+        
+        public LocalDateTime getAt() {
+            return at;
+        }
+        
+        public boolean isRestricted() {
+            return restricted;
+        }
+        
+        public int[] getRestrictedCategoryCodes() {
+            return restrictedCategoryCodes;
+        }
+        
+        // Setters
+        public void setStoreId(Integer storeId) {
+            this.storeId = storeId;
+        }
+        
+        public void setAt(LocalDateTime at) {
+            this.at = at;
+        }
+        
+        public void setRestricted(boolean restricted) {
+            this.restricted = restricted;
+        }
+        
+        public void setRestrictedCategoryCodes(int[] restrictedCategoryCodes) {
+            this.restrictedCategoryCodes = restrictedCategoryCodes;
+        }
+    }
+    
+    /**
+     * Weekly schedule of a store: for each category code, seven 24-bit masks from Monday to Sunday
+     * where bit h set means sales are restricted from h:00 to h:59
+     */
+    public static class StoreScheduleResponse {
+        private Integer storeId;
+        private Map<Integer, int[]> categories;
+        
+        public StoreScheduleResponse(Integer storeId, Map<Integer, int[]> categories) {
+            this.storeId = storeId;
+            this.categories = categories;
+        }
+        
+        // Getters
+        public Integer getStoreId() {
+            return storeId;
+        }
+        
+        public Map<Integer, int[]> getCategories() {
+            return categories;
+        }
+        
+        // Setters
+        public void setStoreId(Integer storeId) {
+            this.storeId = storeId;
+        }
+        
+        public void setCategories(Map<Integer, int[]> categories) {
+            this.categories = categories;
+        }
+    }
+    
+    public static class CacheStatsResponse {
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+        private long size;
+        
+        public CacheStatsResponse(CacheStats cacheStats, long size) {
+            this.hitCount = cacheStats.hitCount();
+            this.missCount = cacheStats.missCount();
+            this.hitRate = cacheStats.hitRate();
+            this.evictionCount = cacheStats.evictionCount();
+            this.size = size;
+        }
+        
+        // Getters
+        public long getHitCount() {
+            return hitCount;
+        }
+        
+        public long getMissCount() {
+            return missCount;
+        }
+        
+        public double getHitRate() {
+            return hitRate;
+        }
+        
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        // Setters
+        public void setHitCount(long hitCount) {
+            this.hitCount = hitCount;
+        }
+        
+        public void setMissCount(long missCount) {
+            this.missCount = missCount;
+        }
+        
+        public void setHitRate(double hitRate) {
+            this.hitRate = hitRate;
+        }
+        
+        public void setEvictionCount(long evictionCount) {
+            this.evictionCount = evictionCount;
+        }
+        
+        public void setSize(long size) {
+            this.size = size;
+        }
+    }
+    
     // Error response class
     public static class ErrorResponse {
         private String message;
@@ -0,0 +1,148 @@
+package com.example.restrictionhoursapi.controller;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.service.RestrictionHourReactiveService;
+import com.example.restrictionhoursapi.service.StreamingPermits;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking mirror of the GET endpoints of RestrictionHourController, answered from the
+ * in-memory snapshot instead of JPA.
+ *
+ * Lists are streamed as NDJSON (one JSON object per line). The request thread is released as soon
+ * as the Flux is returned; rows are then written one at a time on the streaming executor of
+ * AsyncStreamingConfig and the next row is only pulled once the previous one has been written, so a
+ * slow client never buffers the whole result. Each stream takes a StreamingPermits permit; when
+ * none is free the request gets 503.
+ */
+@RestController
+@RequestMapping("/api/restriction-hours/reactive")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+public class RestrictionHourReactiveController {
+    
+    @Autowired
+    private RestrictionHourReactiveService restrictionHourReactiveService;
+    
+    @Autowired
+    private StreamingPermits streamingPermits;
+    
+    /**
+     * Stream all restriction hours
+     * GET /api/restriction-hours/reactive/getAllRestrictionHours
+     */
+    @GetMapping(value = "/getAllRestrictionHours", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getAllRestrictionHours(@RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getAllRestrictionHours(), fields);
+    }
+    
+    /**
+     * Get restriction hour by ID
+     * GET /api/restriction-hours/reactive/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getRestrictionHourById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> fields) {
+        return restrictionHourReactiveService.getRestrictionHourById(id)
+            .<ResponseEntity<?>>map(view -> ResponseEntity.ok(withFields(view, fields)))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Stream restriction hours by store ID
+     * GET /api/restriction-hours/reactive/store/{storeId}
+     */
+    @GetMapping(value = "/store/{storeId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursByStoreId(
+            @PathVariable Integer storeId,
+            @RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursByStoreId(storeId), fields);
+    }
+    
+    /**
+     * Stream restriction hours by store ID and day of week
+     * GET /api/restriction-hours/reactive/store/{storeId}/day/{dayOfWeek}
+     */
+    @GetMapping(value = "/store/{storeId}/day/{dayOfWeek}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursByStoreIdAndDay(
+            @PathVariable Integer storeId, @PathVariable String dayOfWeek,
+            @RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursByStoreIdAndDay(storeId, dayOfWeek), fields);
+    }
+    
+    /**
+     * Stream restriction hours by day of week
+     * GET /api/restriction-hours/reactive/day/{dayOfWeek}
+     */
+    @GetMapping(value = "/day/{dayOfWeek}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursByDay(
+            @PathVariable String dayOfWeek,
+            @RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursByDay(dayOfWeek), fields);
+    }
+    
+    /**
+     * Stream restriction hours by category code
+     * GET /api/restriction-hours/reactive/category/{categoryCode}
+     */
+    @GetMapping(value = "/category/{categoryCode}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursByCategoryCode(
+            @PathVariable Integer categoryCode,
+            @RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursByCategoryCode(categoryCode), fields);
+    }
+    
+    /**
+     * Stream restriction hours that have restrictions enabled
+     * GET /api/restriction-hours/reactive/with-restrictions
+     */
+    @GetMapping(value = "/with-restrictions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursWithRestrictions(@RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursWithRestrictions(), fields);
+    }
+    
+    /**
+     * Stream restriction hours by multiple store IDs (comma-separated)
+     * GET /api/restriction-hours/reactive/stores?ids=1,2,3
+     */
+    @GetMapping(value = "/stores", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<?> getRestrictionHoursByStoreIds(
+            @RequestParam("ids") List<Integer> storeIds,
+            @RequestParam(required = false) Set<String> fields) {
+        return stream(restrictionHourReactiveService.getRestrictionHoursByStoreIds(storeIds), fields);
+    }
+    
+    /**
+     * Admit a stream of rows under a StreamingPermits permit, serializing only the requested fields
+     */
+    private Flux<?> stream(Flux<RestrictionHourView> rows, Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return streamingPermits.limit(rows);
+        }
+        FilterProvider filters = RestrictionHourView.filterProvider(fields);
+        return streamingPermits.limit(rows.map(view -> withFilters(view, filters)));
+    }
+    
+    private static Object withFields(RestrictionHourView view, Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return view;
+        }
+        return withFilters(view, RestrictionHourView.filterProvider(fields));
+    }
+    
+    private static MappingJacksonValue withFilters(RestrictionHourView view, FilterProvider filters) {
+        MappingJacksonValue value = new MappingJacksonValue(view);
+        value.setFilters(filters);
+        return value;
+    }
+}
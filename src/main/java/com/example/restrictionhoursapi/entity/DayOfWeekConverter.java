@@ -0,0 +1,51 @@
+package com.example.restrictionhoursapi.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores dayOfWeek as its ISO day number (1 = Monday ... 7 = Sunday) in a SMALLINT column.
+ *
+ * Reads always return one of the shared DAYS constants, so loaded rows do not each carry their own
+ * copy of the name. Query parameters go through the same conversion: a name that is not one of
+ * DAYS becomes 0, which matches no row, just as an unknown name matched nothing in the old column.
+ */
+@Converter
+public class DayOfWeekConverter implements AttributeConverter<String, Short> {
+
+    public static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+
+    private static final short UNKNOWN = 0;
+
+    @Override
+    public Short convertToDatabaseColumn(String dayOfWeek) {
+        return dayOfWeek == null ? null : toNumber(dayOfWeek);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short dayNumber) {
+        return dayNumber == null ? null : toName(dayNumber);
+    }
+
+    /**
+     * ISO day number of the given day name, or 0 if it is not one of DAYS
+     */
+    public static short toNumber(String dayOfWeek) {
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equals(dayOfWeek)) {
+                return (short) (i + 1);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Day name of the given ISO day number
+     */
+    public static String toName(int dayNumber) {
+        if (dayNumber < 1 || dayNumber > DAYS.length) {
+            throw new IllegalArgumentException("Invalid day number: " + dayNumber);
+        }
+        return DAYS[dayNumber - 1];
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.restrictionhoursapi.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Dictionary entry of restriction_categories: one (category, categoryDesc) pair shared by every
+ * restriction hour that uses it. Entries are added by RestrictionCategoryDictionary and never changed.
+ */
+@Entity
+@Immutable
+@Table(name = "restriction_categories")
+public class RestrictionCategory {
+    
+    @Id
+    @Column(name = "id")
+    private Integer id;
+    
+    @Column(name = "category", nullable = false)
+    private String category;
+    
+    @Column(name = "category_desc", nullable = false)
+    private String categoryDesc;
+    
+    // Getters
+    public Integer getId() {
+        return id;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public String getCategoryDesc() {
+        return categoryDesc;
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.restrictionhoursapi.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Formula;
 
+/**
+ * category and categoryDesc are stored once in restriction_categories; the row keeps only their
+ * categoryId and the categoryNameId of the category alone, both assigned by RestrictionCategoryDictionary
+ * before every write. categoryNameId backs the unique constraint on the composite key. dayOfWeek is stored
+ * as a SMALLINT through DayOfWeekConverter. The JSON shape is unchanged.
+ */
 @Entity
 @Table(name = "restriction_hours")
 public class RestrictionHour {
@@ -16,11 +25,12 @@ public class RestrictionHour {
     private Integer storeId;
     
     @NotBlank
+    @Convert(converter = DayOfWeekConverter.class)
     @Column(name = "day_of_week", nullable = false)
     private String dayOfWeek;
     
     @NotBlank
-    @Column(name = "category", nullable = false)
+    @Formula("(SELECT c.category FROM restriction_categories c WHERE c.id = category_id)")
     private String category;
     
     @NotNull
@@ -28,9 +38,17 @@ public class RestrictionHour {
     private Integer categoryCode;
     
     @NotBlank
-    @Column(name = "category_desc", nullable = false)
+    @Formula("(SELECT c.category_desc FROM restriction_categories c WHERE c.id = category_id)")
     private String categoryDesc;
     
+    @JsonIgnore
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+    
+    @JsonIgnore
+    @Column(name = "category_name_id", nullable = false)
+    private Integer categoryNameId;
+    
     @NotNull
     @Column(name = "has_restriction_hour", nullable = false)
     private Boolean hasRestrictionHour;
@@ -45,6 +63,12 @@ public class RestrictionHour {
     @Column(name = "end_hour")
     private Integer endHour;
     
+    // Managed by JPA and the JDBC batch writer; never taken from a request body
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Default constructor
     public RestrictionHour() {}
     
@@ -111,6 +135,22 @@ public class RestrictionHour {
         this.categoryDesc = categoryDesc;
     }
     
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public Integer getCategoryNameId() {
+        return categoryNameId;
+    }
+    
+    public void setCategoryNameId(Integer categoryNameId) {
+        this.categoryNameId = categoryNameId;
+    }
+    
     public Boolean getHasRestrictionHour() {
         return hasRestrictionHour;
     }
@@ -135,6 +175,21 @@ public class RestrictionHour {
         this.endHour = endHour;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    // Loaded rows share one String per distinct category and description
+    @PostLoad
+    private void internStrings() {
+        category = category == null ? null : category.intern();
+        categoryDesc = categoryDesc == null ? null : categoryDesc.intern();
+    }
+    
     @Override
     public String toString() {
         return "RestrictionHour{" +
@@ -147,6 +202,7 @@ public class RestrictionHour {
                 ", hasRestrictionHour=" + hasRestrictionHour +
                 ", startHour=" + startHour +
                 ", endHour=" + endHour +
+                ", version=" + version +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.restrictionhoursapi.entity;
+
+/**
+ * Composite key of a restriction hour: storeId, dayOfWeek, category, categoryCode
+ */
+public record RestrictionHourKey(Integer storeId, String dayOfWeek, String category, Integer categoryCode) {
+
+    public static RestrictionHourKey of(RestrictionHour restrictionHour) {
+        return new RestrictionHourKey(
+            restrictionHour.getStoreId(),
+            restrictionHour.getDayOfWeek(),
+            restrictionHour.getCategory(),
+            restrictionHour.getCategoryCode()
+        );
+    }
+
+    public static RestrictionHourKey of(RestrictionHourView view) {
+        return new RestrictionHourKey(view.storeId(), view.dayOfWeek(), view.category(), view.categoryCode());
+    }
+
+    @Override
+    public String toString() {
+        return "Store ID: " + storeId +
+               ", Day: " + dayOfWeek +
+               ", Category: " + category +
+               ", Category Code: " + categoryCode;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.restrictionhoursapi.entity;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Set;
+
+/**
+ * Read-only projection of a restriction hour used by the GET endpoints.
+ *
+ * Selected with a JPQL constructor expression, so rows never become managed entities: no
+ * persistence context snapshot and no dirty checking. Serializes to the same JSON as RestrictionHour;
+ * the FIELDS_FILTER lets callers drop columns with fields=.
+ *
+ * The string components are interned, so the views held by the read cache and the snapshot share
+ * one instance per distinct day, category and description instead of one per row.
+ */
+@JsonFilter(RestrictionHourView.FIELDS_FILTER)
+public record RestrictionHourView(Long id, Integer storeId, String dayOfWeek, String category, Integer categoryCode,
+                                  String categoryDesc, Boolean hasRestrictionHour, Integer startHour, Integer endHour,
+                                  Long version) {
+
+    public static final String FIELDS_FILTER = "restrictionHourFields";
+
+    public RestrictionHourView {
+        dayOfWeek = intern(dayOfWeek);
+        category = intern(category);
+        categoryDesc = intern(categoryDesc);
+    }
+
+    /**
+     * View of a saved entity, for read models fed from RestrictionHoursChangedEvent
+     */
+    public static RestrictionHourView of(RestrictionHour restrictionHour) {
+        return new RestrictionHourView(restrictionHour.getId(), restrictionHour.getStoreId(),
+            restrictionHour.getDayOfWeek(), restrictionHour.getCategory(), restrictionHour.getCategoryCode(),
+            restrictionHour.getCategoryDesc(), restrictionHour.getHasRestrictionHour(), restrictionHour.getStartHour(),
+            restrictionHour.getEndHour(), restrictionHour.getVersion());
+    }
+
+    /**
+     * Filter provider serializing only the given fields, or all fields when none are given
+     */
+    public static FilterProvider filterProvider(Set<String> fields) {
+        SimpleBeanPropertyFilter filter = fields == null || fields.isEmpty()
+            ? SimpleBeanPropertyFilter.serializeAll()
+            : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return new SimpleFilterProvider().addFilter(FIELDS_FILTER, filter);
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.restrictionhoursapi.repository;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of the (category, categoryDesc) pairs in restriction_categories, and of their category names in
+ * restriction_category_names, cached in memory.
+ *
+ * A pair seen for the first time is merged into the dictionary on the connection of the write that
+ * introduced it, so resolving ids never takes a second pooled connection. The MERGE runs under a
+ * JDBC savepoint: if a concurrent transaction wins the race for the same pair, only the savepoint
+ * is rolled back, the write's transaction stays usable (also on PostgreSQL, which aborts a
+ * transaction on any failed statement), and the committed row is read back. Ids inserted by a
+ * transaction are cached once it commits; until then they are kept with the transaction.
+ *
+ * Parameters are cast to VARCHAR without a length, which never truncates: RestrictionHourValidator
+ * rejects values wider than the columns before they get here, and one that slips through fails the
+ * INSERT instead of being stored cut short under an id its full value cannot find.
+ */
+@Repository
+public class RestrictionCategoryDictionary {
+
+    private static final String SELECT_IDS_SQL =
+        "SELECT id, name_id FROM restriction_categories WHERE category = ? AND category_desc = ?";
+
+    private static final String MERGE_SQL =
+        "MERGE INTO restriction_categories c " +
+        "USING (VALUES (CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS INTEGER))) " +
+        "AS s (category, category_desc, name_id) " +
+        "ON c.category = s.category AND c.category_desc = s.category_desc " +
+        "WHEN NOT MATCHED THEN INSERT (category, category_desc, name_id) " +
+        "VALUES (s.category, s.category_desc, s.name_id)";
+
+    private static final String SELECT_NAME_ID_SQL = "SELECT id FROM restriction_category_names WHERE category = ?";
+
+    private static final String MERGE_NAME_SQL =
+        "MERGE INTO restriction_category_names n " +
+        "USING (VALUES (CAST(? AS VARCHAR))) AS s (category) " +
+        "ON n.category = s.category " +
+        "WHEN NOT MATCHED THEN INSERT (category) VALUES (s.category)";
+
+    private record CategoryName(String category, String categoryDesc) {
+    }
+
+    private record CategoryIds(Integer id, Integer nameId) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<CategoryName, CategoryIds> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Set the categoryId and categoryNameId of a restriction hour from its category and categoryDesc,
+     * inserting them into the dictionary if they are not there yet
+     */
+    public void assignIds(RestrictionHour restrictionHour) {
+        CategoryName name = new CategoryName(restrictionHour.getCategory(), restrictionHour.getCategoryDesc());
+        CategoryIds found = ids.get(name);
+        if (found == null) {
+            found = resolve(name);
+        }
+        restrictionHour.setCategoryId(found.id());
+        restrictionHour.setCategoryNameId(found.nameId());
+    }
+
+    /**
+     * Set the categoryId and categoryNameId of every restriction hour
+     */
+    public void assignIds(Collection<RestrictionHour> restrictionHours) {
+        for (RestrictionHour restrictionHour : restrictionHours) {
+            assignIds(restrictionHour);
+        }
+    }
+
+    private CategoryIds resolve(CategoryName name) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Outside a transaction every statement commits on its own
+            CategoryIds found = findOrMerge(name);
+            ids.put(name, found);
+            return found;
+        }
+
+        Map<CategoryName, CategoryIds> pending = pendingIds();
+        CategoryIds found = pending.get(name);
+        if (found == null) {
+            found = findOrMerge(name);
+            pending.put(name, found);
+        }
+        return found;
+    }
+
+    private CategoryIds findOrMerge(CategoryName name) {
+        CategoryIds found = find(name);
+        // A lost race on the name and then on the pair takes at most two attempts
+        for (int attempt = 0; found == null && attempt < 3; attempt++) {
+            try {
+                merge(name);
+            } catch (DuplicateKeyException e) {
+                // Merged concurrently by another transaction, which has committed it by now; use its row
+            }
+            found = find(name);
+        }
+        if (found == null) {
+            throw new IllegalStateException("Could not resolve category " + name.category() + " / " + name.categoryDesc());
+        }
+        return found;
+    }
+
+    private void merge(CategoryName name) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            mergeStatements(name);
+            return;
+        }
+        // Runs on the transaction's connection, as do the statements issued inside it
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                mergeStatements(name);
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+    }
+
+    private void mergeStatements(CategoryName name) {
+        Integer nameId = findOrMergeName(name.category());
+        jdbcTemplate.update(MERGE_SQL, name.category(), name.categoryDesc(), nameId);
+    }
+
+    private Integer findOrMergeName(String category) {
+        List<Integer> found = jdbcTemplate.queryForList(SELECT_NAME_ID_SQL, Integer.class, category);
+        if (!found.isEmpty()) {
+            return found.get(0);
+        }
+        jdbcTemplate.update(MERGE_NAME_SQL, category);
+        return jdbcTemplate.queryForObject(SELECT_NAME_ID_SQL, Integer.class, category);
+    }
+
+    private CategoryIds find(CategoryName name) {
+        List<CategoryIds> found = jdbcTemplate.query(SELECT_IDS_SQL,
+            (rs, rowNum) -> new CategoryIds(rs.getInt("id"), rs.getInt("name_id")), name.category(), name.categoryDesc());
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Ids resolved by the current transaction, cached when it commits and dropped if it rolls back
+    @SuppressWarnings("unchecked")
+    private Map<CategoryName, CategoryIds> pendingIds() {
+        Map<CategoryName, CategoryIds> pending =
+            (Map<CategoryName, CategoryIds>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<CategoryName, CategoryIds> resolved = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, resolved);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.putAll(resolved);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RestrictionCategoryDictionary.this);
+                }
+            });
+            pending = resolved;
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.restrictionhoursapi.repository;
+
+import com.example.restrictionhoursapi.entity.DayOfWeekConverter;
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC access to restriction_hours for bulk paths where JPA would issue one statement per row.
+ *
+ * RestrictionHour uses IDENTITY ids, which makes Hibernate give up on insert batching.
+ * Here rows are sent with JdbcTemplate.batchUpdate in chunks of BATCH_SIZE and the generated
+ * ids are read back from the batch. Composite keys are resolved to ids with one query per
+ * chunk of stores instead of one query per key.
+ *
+ * Rows store day_of_week as its ISO day number and category / category_desc as a category_id
+ * from RestrictionCategoryDictionary; keys are read back through a join with the dictionary.
+ */
+@Repository
+public class RestrictionHourJdbcRepository {
+
+    public static final int BATCH_SIZE = 1000;
+    public static final int KEY_LOOKUP_CHUNK_SIZE = 500;
+
+    private static final String SELECT_IDS_BY_STORES_AND_DAYS_SQL =
+        "SELECT rh.id, rh.version, rh.store_id, rh.day_of_week, c.category, rh.category_code FROM restriction_hours rh " +
+        "JOIN restriction_categories c ON c.id = rh.category_id " +
+        "WHERE rh.store_id IN (:storeIds) AND rh.day_of_week IN (:days)";
+
+    private static final String SELECT_IDS_BY_STORE_SQL =
+        "SELECT rh.id, rh.store_id, rh.day_of_week, c.category, rh.category_code FROM restriction_hours rh " +
+        "JOIN restriction_categories c ON c.id = rh.category_id WHERE rh.store_id = ?";
+
+    private static final String DELETE_BY_IDS_SQL = "DELETE FROM restriction_hours WHERE id IN (:ids)";
+
+    private static final String UPDATE_SQL =
+        "UPDATE restriction_hours SET category_id = ?, has_restriction_hour = ?, start_hour = ?, end_hour = ?, " +
+        "version = version + 1 WHERE id = ? AND version = ?";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO restriction_hours (store_id, day_of_week, category_id, category_name_id, category_code, " +
+        "has_restriction_hour, start_hour, end_hour) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String MERGE_STORE_LOCK_SQL =
+        "MERGE INTO restriction_hours_store_locks l USING (VALUES (CAST(? AS INTEGER))) AS s (store_id) " +
+        "ON l.store_id = s.store_id WHEN NOT MATCHED THEN INSERT (store_id) VALUES (s.store_id)";
+
+    private static final String LOCK_STORE_SQL =
+        "SELECT store_id FROM restriction_hours_store_locks WHERE store_id = ? FOR UPDATE";
+
+    /**
+     * Id and version of a stored row
+     */
+    public record StoredRow(Long id, Long version) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private RestrictionCategoryDictionary restrictionCategoryDictionary;
+
+    /**
+     * Find the ids of the stored rows matching the given composite keys
+     */
+    public Map<RestrictionHourKey, Long> findIdsByKeys(Set<RestrictionHourKey> keys) {
+        Map<RestrictionHourKey, Long> ids = new HashMap<>();
+        findRowsByKeys(keys).forEach((key, row) -> ids.put(key, row.id()));
+        return ids;
+    }
+
+    /**
+     * Find the ids and versions of the stored rows matching the given composite keys. Stores are
+     * queried in chunks of KEY_LOOKUP_CHUNK_SIZE and the rows are matched against the keys in memory.
+     */
+    public Map<RestrictionHourKey, StoredRow> findRowsByKeys(Set<RestrictionHourKey> keys) {
+        Map<RestrictionHourKey, StoredRow> rows = new HashMap<>();
+        if (keys.isEmpty()) {
+            return rows;
+        }
+
+        List<Integer> storeIds = keys.stream().map(RestrictionHourKey::storeId).distinct().toList();
+        List<Short> days = keys.stream().map(key -> DayOfWeekConverter.toNumber(key.dayOfWeek())).distinct().toList();
+        for (int from = 0; from < storeIds.size(); from += KEY_LOOKUP_CHUNK_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("storeIds", storeIds.subList(from, Math.min(from + KEY_LOOKUP_CHUNK_SIZE, storeIds.size())))
+                .addValue("days", days);
+            namedParameterJdbcTemplate.query(SELECT_IDS_BY_STORES_AND_DAYS_SQL, parameters, rs -> {
+                RestrictionHourKey key = new RestrictionHourKey(rs.getInt("store_id"),
+                    DayOfWeekConverter.toName(rs.getShort("day_of_week")), rs.getString("category"), rs.getInt("category_code"));
+                if (keys.contains(key)) {
+                    rows.put(key, new StoredRow(rs.getLong("id"), rs.getLong("version")));
+                }
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Insert restriction hours with JDBC batching and assign the generated ids to the given entities
+     */
+    public List<RestrictionHour> insertAll(List<RestrictionHour> restrictionHours) {
+        restrictionCategoryDictionary.assignIds(restrictionHours);
+        for (int from = 0; from < restrictionHours.size(); from += BATCH_SIZE) {
+            insertChunk(restrictionHours.subList(from, Math.min(from + BATCH_SIZE, restrictionHours.size())));
+        }
+        return restrictionHours;
+    }
+
+    /**
+     * Lock a store until the current transaction ends; a second transaction locking the same store
+     * waits for it. The store's lock row is created on first use. Must be called in a transaction.
+     */
+    public void lockStore(Integer storeId) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            // A lost race to create the row only rolls back to the savepoint, also on PostgreSQL
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.update(MERGE_STORE_LOCK_SQL, storeId);
+            } catch (DuplicateKeyException e) {
+                // Created by a concurrent transaction, which has committed it by now
+                connection.rollback(savepoint);
+                return null;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+        jdbcTemplate.queryForObject(LOCK_STORE_SQL, Integer.class, storeId);
+    }
+
+    /**
+     * Find the ids of all rows of a store by composite key
+     */
+    public Map<RestrictionHourKey, Long> findIdsByStoreId(Integer storeId) {
+        Map<RestrictionHourKey, Long> ids = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_STORE_SQL, rs -> {
+            ids.put(new RestrictionHourKey(rs.getInt("store_id"), DayOfWeekConverter.toName(rs.getShort("day_of_week")),
+                rs.getString("category"), rs.getInt("category_code")), rs.getLong("id"));
+        }, storeId);
+        return ids;
+    }
+
+    /**
+     * Delete rows by id, one DELETE statement per chunk of BATCH_SIZE ids
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        int deleted = 0;
+        for (int from = 0; from < idList.size(); from += BATCH_SIZE) {
+            deleted += namedParameterJdbcTemplate.update(DELETE_BY_IDS_SQL,
+                new MapSqlParameterSource("ids", idList.subList(from, Math.min(from + BATCH_SIZE, idList.size()))));
+        }
+        return deleted;
+    }
+
+    /**
+     * Update the non-key fields of restriction hours by id with JDBC batching, incrementing their version.
+     * Each entity must carry the id and version it was read with; a row is only updated while it still
+     * has that version, and then gets version + 1.
+     *
+     * Returns the entities whose row was not updated because it has been deleted or changed since it
+     * was read. The other rows are updated, so the caller must roll back if any entity is returned.
+     */
+    public List<RestrictionHour> updateAll(List<RestrictionHour> restrictionHours) {
+        restrictionCategoryDictionary.assignIds(restrictionHours);
+        List<RestrictionHour> stale = new ArrayList<>();
+        for (int from = 0; from < restrictionHours.size(); from += BATCH_SIZE) {
+            List<RestrictionHour> chunk = restrictionHours.subList(from, Math.min(from + BATCH_SIZE, restrictionHours.size()));
+            int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, chunk.size(), (ps, restrictionHour) -> {
+                ps.setInt(1, restrictionHour.getCategoryId());
+                ps.setBoolean(2, restrictionHour.getHasRestrictionHour());
+                ps.setObject(3, restrictionHour.getStartHour(), Types.INTEGER);
+                ps.setObject(4, restrictionHour.getEndHour(), Types.INTEGER);
+                ps.setLong(5, restrictionHour.getId());
+                ps.setLong(6, restrictionHour.getVersion());
+            });
+
+            // A single batch of chunk.size() statements
+            int[] counts = updateCounts[0];
+            for (int i = 0; i < chunk.size(); i++) {
+                RestrictionHour restrictionHour = chunk.get(i);
+                if (counts[i] == 0) {
+                    stale.add(restrictionHour);
+                } else {
+                    restrictionHour.setVersion(restrictionHour.getVersion() + 1);
+                }
+            }
+        }
+        return stale;
+    }
+
+    private void insertChunk(List<RestrictionHour> chunk) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    RestrictionHour restrictionHour = chunk.get(i);
+                    ps.setInt(1, restrictionHour.getStoreId());
+                    ps.setShort(2, DayOfWeekConverter.toNumber(restrictionHour.getDayOfWeek()));
+                    ps.setInt(3, restrictionHour.getCategoryId());
+                    ps.setInt(4, restrictionHour.getCategoryNameId());
+                    ps.setInt(5, restrictionHour.getCategoryCode());
+                    ps.setBoolean(6, restrictionHour.getHasRestrictionHour());
+                    ps.setObject(7, restrictionHour.getStartHour(), Types.INTEGER);
+                    ps.setObject(8, restrictionHour.getEndHour(), Types.INTEGER);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            chunk.get(i).setVersion(0L);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.restrictionhoursapi.repository;
+
+import com.example.restrictionhoursapi.entity.DayOfWeekConverter;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC access to the change log shared by replicated nodes: restriction_hours_version holds the
+ * latest version and restriction_hours_outbox the composite keys written under each version.
+ *
+ * Entries only name the keys that changed, not their new values; a node reads the current rows
+ * of those keys, so applying the same version twice or out of a stale read is harmless.
+ */
+@Repository
+public class RestrictionHourOutboxRepository {
+
+    private static final String INCREMENT_VERSION_SQL =
+        "UPDATE restriction_hours_version SET version = version + 1 WHERE id = 1";
+
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM restriction_hours_version WHERE id = 1";
+
+    private static final String SELECT_OLDEST_VERSION_SQL = "SELECT MIN(version) FROM restriction_hours_outbox";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO restriction_hours_outbox (version, store_id, day_of_week, category, category_code) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_KEYS_SQL =
+        "SELECT store_id, day_of_week, category, category_code FROM restriction_hours_outbox " +
+        "WHERE version > ? AND version <= ?";
+
+    // Whole versions only, so a node never sees a version with part of its keys missing
+    private static final String DELETE_OLDER_THAN_SQL =
+        "DELETE FROM restriction_hours_outbox WHERE version <= " +
+        "(SELECT MAX(version) FROM restriction_hours_outbox WHERE created_at < DATEADD('MILLISECOND', ?, LOCALTIMESTAMP))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record the given keys under a new version and return it. Must run in the write transaction:
+     * the version row stays locked until it commits, so concurrent writers get consecutive versions
+     * in commit order.
+     */
+    public long append(Collection<RestrictionHourKey> keys) {
+        jdbcTemplate.update(INCREMENT_VERSION_SQL);
+        long version = findLatestVersion();
+
+        List<RestrictionHourKey> rows = new ArrayList<>(new HashSet<>(keys));
+        for (int from = 0; from < rows.size(); from += RestrictionHourJdbcRepository.BATCH_SIZE) {
+            List<RestrictionHourKey> chunk = rows.subList(from, Math.min(from + RestrictionHourJdbcRepository.BATCH_SIZE, rows.size()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, key) -> {
+                ps.setLong(1, version);
+                ps.setInt(2, key.storeId());
+                ps.setShort(3, DayOfWeekConverter.toNumber(key.dayOfWeek()));
+                ps.setString(4, key.category());
+                ps.setInt(5, key.categoryCode());
+            });
+        }
+        return version;
+    }
+
+    /**
+     * Latest committed version, 0 if nothing was written yet
+     */
+    public long findLatestVersion() {
+        return jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class);
+    }
+
+    /**
+     * Oldest version still in the log, or null if the log is empty
+     */
+    public Long findOldestVersion() {
+        return jdbcTemplate.queryForObject(SELECT_OLDEST_VERSION_SQL, Long.class);
+    }
+
+    /**
+     * Keys written by the versions in (afterVersion, upToVersion]
+     */
+    public Set<RestrictionHourKey> findKeys(long afterVersion, long upToVersion) {
+        Set<RestrictionHourKey> keys = new HashSet<>();
+        jdbcTemplate.query(SELECT_KEYS_SQL, rs -> {
+            keys.add(new RestrictionHourKey(rs.getInt("store_id"), DayOfWeekConverter.toName(rs.getShort("day_of_week")),
+                rs.getString("category"), rs.getInt("category_code")));
+        }, afterVersion, upToVersion);
+        return keys;
+    }
+
+    /**
+     * Delete the versions whose entries are older than the given retention
+     */
+    public int deleteOlderThan(Duration retention) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN_SQL, -retention.toMillis());
+    }
+}
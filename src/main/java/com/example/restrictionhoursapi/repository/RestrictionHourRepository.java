@@ -1,42 +1,119 @@
 package com.example.restrictionhoursapi.repository;
 
 import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface RestrictionHourRepository extends JpaRepository<RestrictionHour, Long> {
     
+    String AFTER_CURSOR = "(rh.storeId > :storeId OR (rh.storeId = :storeId AND rh.id > :id))";
+    
+    // Read-only projection: rows are returned as RestrictionHourView records, not managed entities.
+    // Category names come from the dictionary table with one join instead of the entity's per-row formulas
+    String SELECT_VIEW = "SELECT new com.example.restrictionhoursapi.entity.RestrictionHourView(" +
+        "rh.id, rh.storeId, rh.dayOfWeek, c.category, rh.categoryCode, c.categoryDesc, " +
+        "rh.hasRestrictionHour, rh.startHour, rh.endHour, rh.version) " +
+        "FROM RestrictionHour rh JOIN RestrictionCategory c ON c.id = rh.categoryId";
+    
+    // Find all restriction hours
+    @Query(SELECT_VIEW)
+    List<RestrictionHourView> findAllViews();
+    
+    // Find a restriction hour by ID
+    @Query(SELECT_VIEW + " WHERE rh.id = :id")
+    Optional<RestrictionHourView> findViewById(@Param("id") Long id);
+    
     // Find all restriction hours for a specific store
-    List<RestrictionHour> findByStoreId(Integer storeId);
+    @Query(SELECT_VIEW + " WHERE rh.storeId = :storeId")
+    List<RestrictionHourView> findByStoreId(@Param("storeId") Integer storeId);
     
     // Find restriction hours by store ID and day of week
-    List<RestrictionHour> findByStoreIdAndDayOfWeek(Integer storeId, String dayOfWeek);
+    @Query(SELECT_VIEW + " WHERE rh.storeId = :storeId AND rh.dayOfWeek = :dayOfWeek")
+    List<RestrictionHourView> findByStoreIdAndDayOfWeek(@Param("storeId") Integer storeId,
+                                                        @Param("dayOfWeek") String dayOfWeek);
     
     // Find restriction hours by day of week
-    List<RestrictionHour> findByDayOfWeek(String dayOfWeek);
+    @Query(SELECT_VIEW + " WHERE rh.dayOfWeek = :dayOfWeek")
+    List<RestrictionHourView> findByDayOfWeek(@Param("dayOfWeek") String dayOfWeek);
     
     // Find restriction hours by category code
-    List<RestrictionHour> findByCategoryCode(Integer categoryCode);
+    @Query(SELECT_VIEW + " WHERE rh.categoryCode = :categoryCode")
+    List<RestrictionHourView> findByCategoryCode(@Param("categoryCode") Integer categoryCode);
     
     // Find restriction hours that have restrictions enabled
-    List<RestrictionHour> findByHasRestrictionHourTrue();
+    @Query(SELECT_VIEW + " WHERE rh.hasRestrictionHour = true")
+    List<RestrictionHourView> findByHasRestrictionHourTrue();
     
     // Find restriction hours that don't have restrictions
     List<RestrictionHour> findByHasRestrictionHourFalse();
     
     // Custom query to find restriction hours by multiple store IDs
-    @Query("SELECT rh FROM RestrictionHour rh WHERE rh.storeId IN :storeIds")
-    List<RestrictionHour> findByStoreIdIn(@Param("storeIds") List<Integer> storeIds);
+    @Query(SELECT_VIEW + " WHERE rh.storeId IN :storeIds")
+    List<RestrictionHourView> findByStoreIdIn(@Param("storeIds") List<Integer> storeIds);
     
     // Find restriction hours within a time range
     @Query("SELECT rh FROM RestrictionHour rh WHERE rh.startHour >= :startHour AND rh.endHour <= :endHour")
     List<RestrictionHour> findByTimeRange(@Param("startHour") Integer startHour, @Param("endHour") Integer endHour);
     
+    // Rows restricted at :hour on :dayOfWeek: same-day windows containing the hour, whole-day rows, the evening
+    // part of overnight windows starting that day and the morning part of overnight windows from :previousDay
+    @Query(SELECT_VIEW + " WHERE rh.hasRestrictionHour = true AND (" +
+           "(rh.dayOfWeek = :dayOfWeek AND (rh.startHour = rh.endHour OR " +
+           "(rh.startHour <= :hour AND (rh.endHour > :hour OR rh.endHour < rh.startHour)))) OR " +
+           "(rh.dayOfWeek = :previousDay AND rh.endHour < rh.startHour AND rh.endHour > :hour)) " +
+           "ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findActiveAt(@Param("dayOfWeek") String dayOfWeek,
+                                           @Param("previousDay") String previousDay, @Param("hour") Integer hour);
+    
+    // Keyset pagination: rows after (storeId, id), ordered by (storeId, id); pageable only limits the size
+    @Query(SELECT_VIEW + " WHERE " + AFTER_CURSOR + " ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findPageAfter(@Param("storeId") Integer storeId, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_VIEW + " WHERE rh.dayOfWeek = :dayOfWeek AND " + AFTER_CURSOR +
+           " ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findPageByDayOfWeekAfter(@Param("dayOfWeek") String dayOfWeek,
+                                                       @Param("storeId") Integer storeId,
+                                                       @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_VIEW + " WHERE rh.categoryCode = :categoryCode AND " + AFTER_CURSOR +
+           " ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findPageByCategoryCodeAfter(@Param("categoryCode") Integer categoryCode,
+                                                          @Param("storeId") Integer storeId, @Param("id") Long id,
+                                                          Pageable pageable);
+    
+    @Query(SELECT_VIEW + " WHERE rh.hasRestrictionHour = true AND " + AFTER_CURSOR +
+           " ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findPageByHasRestrictionHourTrueAfter(@Param("storeId") Integer storeId,
+                                                                    @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_VIEW + " WHERE rh.storeId IN :storeIds AND " + AFTER_CURSOR +
+           " ORDER BY rh.storeId, rh.id")
+    List<RestrictionHourView> findPageByStoreIdInAfter(@Param("storeIds") List<Integer> storeIds,
+                                                       @Param("storeId") Integer storeId, @Param("id") Long id,
+                                                       Pageable pageable);
+    
+    // Stream restriction hours with optional filters, fetching rows from a JDBC cursor in batches
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + " WHERE (:storeId IS NULL OR rh.storeId = :storeId) " +
+           "AND (:dayOfWeek IS NULL OR rh.dayOfWeek = :dayOfWeek) " +
+           "AND (:categoryCode IS NULL OR rh.categoryCode = :categoryCode) ORDER BY rh.id")
+    Stream<RestrictionHourView> streamByFilters(@Param("storeId") Integer storeId,
+                                                @Param("dayOfWeek") String dayOfWeek,
+                                                @Param("categoryCode") Integer categoryCode);
+    
     // Check if a restriction hour already exists for a store and day
     boolean existsByStoreIdAndDayOfWeek(Integer storeId, String dayOfWeek);
     
@@ -47,4 +124,4 @@ public interface RestrictionHourRepository extends JpaRepository<RestrictionHour
     // Check if exists by composite key
     boolean existsByStoreIdAndDayOfWeekAndCategoryAndCategoryCode(
         Integer storeId, String dayOfWeek, String category, Integer categoryCode);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.DAYS_PER_WEEK;
+
+/**
+ * Inverted index from each of the 168 (day, hour) slots of a week to the (storeId, categoryCode)
+ * pairs restricted in that hour, fed with the compiled hour masks of RestrictionEvaluationEngine,
+ * so overnight windows already appear under the following day.
+ *
+ * Every pair gets a dense id and every slot is a bitset over those ids: "everything restricted at
+ * this hour" scans one bitset (pairs / 64 words) instead of every row. Changed slots are copied,
+ * modified and published together by the engine's single writer; readers never lock.
+ *
+ * A pair left without any restricted hour gives its id back. The id is reused only after the
+ * change that cleared its bits has been published, and its new key goes into a copy of the pair
+ * array, so a reader still holding the previous state never sees the new key. Ids, and with them
+ * the bitsets, therefore stay bounded by the peak number of live pairs rather than growing with churn.
+ */
+final class ActiveHourIndex {
+
+    static final int HOURS_PER_DAY = 24;
+    static final int SLOTS = DAYS_PER_WEEK * HOURS_PER_DAY;
+
+    // Slots and the key of every pair id, always published together
+    private record State(long[][] slots, long[] pairs) {
+    }
+
+    // Writer state, only touched under the engine's write lock
+    private final Map<Long, Integer> pairIds = new HashMap<>();
+    private int nextId;
+    // Ids whose pairs were removed by staged changes, and ids free to reuse since the last publish
+    private int[] releasedIds = new int[0];
+    private int releasedCount;
+    private int[] freeIds = new int[0];
+    private int freeCount;
+    private long[][] pending;
+    private long[] pendingPairs;
+    private final boolean[] copied = new boolean[SLOTS];
+
+    private volatile State published = emptyState();
+
+    /**
+     * Pairs restricted in the given hour of the given day (Monday = 0), ordered by store and category code
+     */
+    List<ActiveRestriction> activeAt(int dayIndex, int hour) {
+        State state = published;
+        long[] slot = state.slots()[dayIndex * HOURS_PER_DAY + hour];
+        long[] pairKeys = state.pairs();
+
+        int total = 0;
+        for (long bits : slot) {
+            total += Long.bitCount(bits);
+        }
+        long[] found = new long[total];
+        int count = 0;
+        for (int word = 0; word < slot.length; word++) {
+            long bits = slot[word];
+            while (bits != 0) {
+                found[count++] = pairKeys[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        Arrays.sort(found);
+
+        List<ActiveRestriction> active = new ArrayList<>(total);
+        for (long pairKey : found) {
+            active.add(new ActiveRestriction((int) (pairKey >> 32), (int) pairKey));
+        }
+        return active;
+    }
+
+    /**
+     * Stage the change of one store's masks from before to after; visible once published
+     */
+    void replace(int storeId, Map<Integer, int[]> before, Map<Integer, int[]> after) {
+        Set<Integer> categoryCodes = new HashSet<>(before.keySet());
+        categoryCodes.addAll(after.keySet());
+        for (Integer categoryCode : categoryCodes) {
+            int[] beforeMasks = before.get(categoryCode);
+            int[] afterMasks = after.get(categoryCode);
+            int pairId = -1;
+            boolean restricted = false;
+            for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                int beforeMask = beforeMasks == null ? 0 : beforeMasks[day];
+                int afterMask = afterMasks == null ? 0 : afterMasks[day];
+                restricted |= afterMask != 0;
+                if (beforeMask == afterMask) {
+                    continue;
+                }
+                if (pairId < 0) {
+                    pairId = pairId(storeId, categoryCode);
+                }
+                for (int changed = beforeMask ^ afterMask; changed != 0; changed &= changed - 1) {
+                    int hour = Integer.numberOfTrailingZeros(changed);
+                    set(day * HOURS_PER_DAY + hour, pairId, (afterMask & (1 << hour)) != 0);
+                }
+            }
+            if (!restricted) {
+                release(storeId, categoryCode);
+            }
+        }
+    }
+
+    /**
+     * Make all staged changes visible to readers at once
+     */
+    void publish() {
+        if (pending != null || pendingPairs != null) {
+            State current = published;
+            published = new State(pending != null ? pending : current.slots(),
+                pendingPairs != null ? pendingPairs : current.pairs());
+            pending = null;
+            pendingPairs = null;
+            Arrays.fill(copied, false);
+        }
+        // No published slot refers to the released ids any more
+        for (int i = 0; i < releasedCount; i++) {
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, Math.max(16, freeCount * 2));
+            }
+            freeIds[freeCount++] = releasedIds[i];
+        }
+        releasedCount = 0;
+    }
+
+    /**
+     * Drop every pair, e.g. before the engine reloads from the database
+     */
+    void clear() {
+        pairIds.clear();
+        nextId = 0;
+        releasedCount = 0;
+        freeCount = 0;
+        pending = null;
+        pendingPairs = null;
+        Arrays.fill(copied, false);
+        published = emptyState();
+    }
+
+    /**
+     * Number of pair ids handed out and not freed, i.e. pairs with at least one restricted hour
+     */
+    int size() {
+        return pairIds.size();
+    }
+
+    private int pairId(int storeId, int categoryCode) {
+        long pairKey = pairKey(storeId, categoryCode);
+        Integer pairId = pairIds.get(pairKey);
+        if (pairId != null) {
+            return pairId;
+        }
+
+        long[] pairKeys = pendingPairs != null ? pendingPairs : published.pairs();
+        int newId;
+        if (freeCount > 0) {
+            newId = freeIds[--freeCount];
+            // Readers of the published state may still look up the old key of a reused id
+            if (pendingPairs == null) {
+                pendingPairs = pairKeys.clone();
+                pairKeys = pendingPairs;
+            }
+        } else {
+            newId = nextId++;
+            if (newId == pairKeys.length) {
+                pendingPairs = Arrays.copyOf(pairKeys, Math.max(64, newId * 2));
+                pairKeys = pendingPairs;
+            }
+            // Otherwise no published slot refers to newId yet, so the unused entry can be filled in place
+        }
+        pairKeys[newId] = pairKey;
+        pairIds.put(pairKey, newId);
+        return newId;
+    }
+
+    private void release(int storeId, int categoryCode) {
+        Integer pairId = pairIds.remove(pairKey(storeId, categoryCode));
+        if (pairId == null) {
+            return;
+        }
+        if (releasedCount == releasedIds.length) {
+            releasedIds = Arrays.copyOf(releasedIds, Math.max(16, releasedCount * 2));
+        }
+        releasedIds[releasedCount++] = pairId;
+    }
+
+    private static long pairKey(int storeId, int categoryCode) {
+        return ((long) storeId << 32) | (categoryCode & 0xffffffffL);
+    }
+
+    private void set(int slotIndex, int pairId, boolean restricted) {
+        if (pending == null) {
+            pending = published.slots().clone();
+        }
+        int word = pairId / Long.SIZE;
+        long[] slot = pending[slotIndex];
+        if (!copied[slotIndex] || slot.length <= word) {
+            // Grow by doubling so that loading many pairs does not copy a slot once per 64 pairs
+            int length = slot.length <= word ? Math.max(word + 1, slot.length * 2) : slot.length;
+            pending[slotIndex] = Arrays.copyOf(slot, length);
+            copied[slotIndex] = true;
+        }
+        if (restricted) {
+            pending[slotIndex][word] |= 1L << pairId;
+        } else {
+            pending[slotIndex][word] &= ~(1L << pairId);
+        }
+    }
+
+    private static State emptyState() {
+        long[][] empty = new long[SLOTS][];
+        Arrays.fill(empty, new long[0]);
+        return new State(empty, new long[0]);
+    }
+}
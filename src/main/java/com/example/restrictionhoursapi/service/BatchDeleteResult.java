@@ -0,0 +1,11 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch delete: how many rows were deleted and which requested keys did not exist
+ */
+public record BatchDeleteResult(int deletedCount, List<RestrictionHourKey> missingKeys) {
+}
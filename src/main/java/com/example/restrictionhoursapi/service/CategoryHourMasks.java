@@ -0,0 +1,67 @@
+package com.example.restrictionhoursapi.service;
+
+import java.util.Map;
+
+import static com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.DAYS_PER_WEEK;
+
+/**
+ * Immutable open-addressing map from category code to its seven day hour masks, held in plain
+ * int arrays so a lookup neither boxes the code nor follows a pointer per entry.
+ *
+ * Codes are stored densely in codes[] with their masks at weekMasks[index * 7 + dayIndex]; the
+ * power-of-two slots[] table holds index + 1 (0 = empty) and is probed linearly. It is filled at
+ * most half full, so a miss usually ends at the first or second slot.
+ */
+final class CategoryHourMasks {
+
+    private final int[] slots;
+    private final int[] codes;
+    private final int[] weekMasks;
+
+    private CategoryHourMasks(int[] slots, int[] codes, int[] weekMasks) {
+        this.slots = slots;
+        this.codes = codes;
+        this.weekMasks = weekMasks;
+    }
+
+    static CategoryHourMasks of(Map<Integer, int[]> masks) {
+        int capacity = Integer.highestOneBit(Math.max(2, masks.size() * 2 - 1)) << 1;
+        int[] slots = new int[capacity];
+        int[] codes = new int[masks.size()];
+        int[] weekMasks = new int[masks.size() * DAYS_PER_WEEK];
+
+        int index = 0;
+        for (Map.Entry<Integer, int[]> entry : masks.entrySet()) {
+            int code = entry.getKey();
+            codes[index] = code;
+            System.arraycopy(entry.getValue(), 0, weekMasks, index * DAYS_PER_WEEK, DAYS_PER_WEEK);
+            int slot = hash(code) & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = index + 1;
+            index++;
+        }
+        return new CategoryHourMasks(slots, codes, weekMasks);
+    }
+
+    /**
+     * Hour mask of a category code on a day (Monday = 0), 0 if the code has no restrictions
+     */
+    int hourMask(int categoryCode, int dayIndex) {
+        int mask = slots.length - 1;
+        for (int slot = hash(categoryCode) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (codes[index] == categoryCode) {
+                return weekMasks[index * DAYS_PER_WEEK + dayIndex];
+            }
+        }
+        return 0;
+    }
+
+    // Category codes are often consecutive; spread them so they do not fill neighbouring slots
+    private static int hash(int categoryCode) {
+        int h = categoryCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.restrictionhoursapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress and outcome of a streaming import. Only the first MAX_REPORTED_ERRORS row errors
+ * are kept so the report stays small however large the upload is.
+ */
+public class ImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private int chunksCommitted;
+    private boolean completed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * A rejected row: its 1-based position in the upload and why it was rejected
+     */
+    public record RowError(long row, String message) {
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void chunkCommitted(int imported) {
+        rowsImported += imported;
+        chunksCommitted++;
+    }
+
+    void rowRejected(long row, String message) {
+        rowsRejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    void completed() {
+        completed = true;
+    }
+
+    // Getters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public int getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return rowsRejected > errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+}
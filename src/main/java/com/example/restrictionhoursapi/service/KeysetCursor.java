@@ -0,0 +1,34 @@
+package com.example.restrictionhoursapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (storeId, id). Handed to clients as an opaque URL-safe token.
+ */
+public record KeysetCursor(int storeId, long id) {
+
+    public static final KeysetCursor START = new KeysetCursor(Integer.MIN_VALUE, Long.MIN_VALUE);
+
+    public String encode() {
+        String position = storeId + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token, or return START for a missing token
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            return new KeysetCursor(Integer.parseInt(position.substring(0, separator)),
+                                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory evaluation engine answering "is category X restricted at store S at this moment?"
+ * without touching JPA.
+ *
+ * Every store is compiled into an immutable StoreSchedule holding, per category code, one
+ * 24-bit hour mask for each day of the week (bit h set = sales restricted from h:00 to h:59),
+ * kept in a primitive CategoryHourMasks table, and schedules are looked up by store id in a
+ * StoreScheduleTable. A lookup is a store probe, a category code probe and a bit test; a whole
+ * basket of category codes is checked against one store lookup. Schedules are replaced
+ * copy-on-write whenever RestrictionHourService publishes a RestrictionHoursChangedEvent.
+ *
+ * The same masks feed an ActiveHourIndex answering "which categories are restricted at which
+ * stores at this moment" without visiting every store. Writers are serialized by a lock so the
+ * index always moves from one consistent set of schedules to the next; readers never lock.
+ *
+ * Window semantics for a row with hasRestrictionHour = true:
+ * - startHour < endHour: restricted from startHour up to (not including) endHour
+ * - startHour > endHour: the window wraps past midnight into the following day
+ * - startHour == endHour: restricted for the whole day
+ */
+@Component
+public class RestrictionEvaluationEngine {
+
+    static final int DAYS_PER_WEEK = 7;
+    static final int FULL_DAY_MASK = (1 << 24) - 1;
+
+    @Autowired
+    private RestrictionHourSnapshot restrictionHourSnapshot;
+
+    private volatile StoreScheduleTable schedules = StoreScheduleTable.EMPTY;
+    private final ActiveHourIndex activeHourIndex = new ActiveHourIndex();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * A category restricted at a store
+     */
+    public record ActiveRestriction(int storeId, int categoryCode) {
+    }
+
+    /**
+     * Compile the schedules of every store from the loaded RestrictionHourSnapshot. Stores are
+     * compiled in parallel, then added to a rebuilt active-hour index one at a time.
+     *
+     * The snapshot is read under the write lock. The snapshot applies every event before the engine
+     * does, so an event is either already in what is read here or applied after the reload; an older
+     * full load never overwrites a newer event.
+     */
+    @PostConstruct
+    public void load() {
+        writeLock.lock();
+        try {
+            Map<Integer, StoreSchedule> compiled = restrictionHourSnapshot.getStores().parallelStream()
+                .collect(Collectors.toConcurrentMap(store -> store.get(0).storeId(), StoreSchedule::of));
+            activeHourIndex.clear();
+            compiled.forEach((storeId, schedule) ->
+                activeHourIndex.replace(storeId, StoreSchedule.EMPTY.masks, schedule.masks));
+            schedules = StoreScheduleTable.of(compiled);
+            activeHourIndex.publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Check whether a category is restricted at a store at the given local date-time
+     */
+    public boolean isRestricted(int storeId, int categoryCode, LocalDateTime at) {
+        StoreSchedule schedule = schedules.get(storeId);
+        return schedule != null && schedule.isRestricted(categoryCode, dayIndex(at.getDayOfWeek()), at.getHour());
+    }
+
+    /**
+     * The given category codes that are restricted at a store at the given local date-time, in ascending
+     * order without duplicates. The store's schedule is looked up once for the whole basket.
+     */
+    public int[] getRestrictedCategoryCodes(int storeId, int[] categoryCodes, LocalDateTime at) {
+        StoreSchedule schedule = schedules.get(storeId);
+        if (schedule == null || categoryCodes.length == 0) {
+            return new int[0];
+        }
+        return schedule.restrictedAmong(categoryCodes, dayIndex(at.getDayOfWeek()), at.getHour());
+    }
+
+    /**
+     * Every (store, category code) restricted at the given local date-time, ordered by store and category code
+     */
+    public List<ActiveRestriction> getActiveAt(LocalDateTime at) {
+        return activeHourIndex.activeAt(dayIndex(at.getDayOfWeek()), at.getHour());
+    }
+
+    /**
+     * Get the compiled schedule of a store; empty if the store has no restriction hours
+     */
+    public StoreSchedule getStoreSchedule(int storeId) {
+        StoreSchedule schedule = schedules.get(storeId);
+        return schedule == null ? StoreSchedule.EMPTY : schedule;
+    }
+
+    /**
+     * Keep the compiled schedules in sync once a write has been committed, after the snapshot has
+     * applied the same event
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestrictionHoursChanged(RestrictionHoursChangedEvent event) {
+        Set<Integer> storeIds = new HashSet<>();
+        event.getSaved().forEach(restrictionHour -> storeIds.add(restrictionHour.getStoreId()));
+        event.getDeleted().forEach(key -> storeIds.add(key.storeId()));
+        refresh(storeIds);
+    }
+
+    /**
+     * Recompile the given stores from their current rows in the snapshot. The snapshot decides
+     * which of several concurrent changes is the newest, so the engine never applies an event's
+     * rows itself and cannot be left behind by events applied out of commit order: the last refresh
+     * of a store follows the last change to it.
+     */
+    public void refresh(Collection<Integer> storeIds) {
+        writeLock.lock();
+        try {
+            Map<Integer, StoreSchedule> changed = new HashMap<>();
+            for (Integer storeId : storeIds) {
+                StoreSchedule current = getStoreSchedule(storeId);
+                StoreSchedule updated = StoreSchedule.of(restrictionHourSnapshot.getByStoreId(storeId));
+                changed.put(storeId, updated.windows.isEmpty() ? StoreSchedule.EMPTY : updated);
+                activeHourIndex.replace(storeId, current.masks, updated.masks);
+            }
+            schedules = schedules.with(changed);
+            activeHourIndex.publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Map a day name (case-insensitive) to its index, Monday = 0 .. Sunday = 6, or -1 if invalid
+     */
+    public static int dayIndex(String dayOfWeek) {
+        if (dayOfWeek == null) {
+            return -1;
+        }
+        try {
+            return dayIndex(DayOfWeek.valueOf(dayOfWeek.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    static int dayIndex(DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() - 1;
+    }
+
+    /**
+     * Immutable compiled schedule of one store. Its strong ETag is a hash of the compiled masks,
+     * computed once when the schedule is rebuilt.
+     */
+    public static final class StoreSchedule {
+
+        static final StoreSchedule EMPTY = new StoreSchedule(Map.of());
+
+        private final Map<RestrictionHourKey, RestrictionWindow> windows;
+        private final Map<Integer, int[]> masks;
+        private final Map<Integer, int[]> sortedMasks;
+        private final CategoryHourMasks hourMasks;
+        private final String eTag;
+
+        private StoreSchedule(Map<RestrictionHourKey, RestrictionWindow> windows) {
+            this.windows = windows;
+            this.masks = compile(windows.values());
+            this.hourMasks = CategoryHourMasks.of(masks);
+            this.sortedMasks = Collections.unmodifiableMap(new TreeMap<>(masks));
+            this.eTag = eTag(sortedMasks);
+        }
+
+        static StoreSchedule of(List<RestrictionHourView> views) {
+            Map<RestrictionHourKey, RestrictionWindow> windows = new HashMap<>();
+            for (RestrictionHourView view : views) {
+                windows.put(RestrictionHourKey.of(view), RestrictionWindow.of(view.categoryCode(), view.dayOfWeek(),
+                    view.hasRestrictionHour(), view.startHour(), view.endHour()));
+            }
+            return new StoreSchedule(Map.copyOf(windows));
+        }
+
+        boolean isRestricted(int categoryCode, int dayIndex, int hour) {
+            return (hourMasks.hourMask(categoryCode, dayIndex) & (1 << hour)) != 0;
+        }
+
+        int[] restrictedAmong(int[] categoryCodes, int dayIndex, int hour) {
+            int[] sorted = categoryCodes.clone();
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                // Equal codes are adjacent once sorted; a code already kept is skipped
+                if ((count == 0 || sorted[i] != sorted[count - 1]) && isRestricted(sorted[i], dayIndex, hour)) {
+                    sorted[count++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, count);
+        }
+
+        /**
+         * Hour masks per category code in ascending code order, one entry per day starting with Monday
+         */
+        public Map<Integer, int[]> getMasks() {
+            return sortedMasks;
+        }
+
+        /**
+         * Strong ETag (quoted) identifying the content of the masks
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        private static String eTag(Map<Integer, int[]> sortedMasks) {
+            // 64-bit FNV-1a over every category code and its seven day masks
+            long hash = 0xcbf29ce484222325L;
+            for (Map.Entry<Integer, int[]> entry : sortedMasks.entrySet()) {
+                hash = (hash ^ entry.getKey()) * 0x100000001b3L;
+                for (int dayMask : entry.getValue()) {
+                    hash = (hash ^ dayMask) * 0x100000001b3L;
+                }
+            }
+            return "\"" + Long.toHexString(hash) + "\"";
+        }
+
+        private static Map<Integer, int[]> compile(Collection<RestrictionWindow> windows) {
+            Map<Integer, int[]> compiled = new HashMap<>();
+            for (RestrictionWindow window : windows) {
+                if (window.sameDayMask() == 0 && window.nextDayMask() == 0) {
+                    continue;
+                }
+                int[] weekMasks = compiled.computeIfAbsent(window.categoryCode(), code -> new int[DAYS_PER_WEEK]);
+                weekMasks[window.dayIndex()] |= window.sameDayMask();
+                weekMasks[(window.dayIndex() + 1) % DAYS_PER_WEEK] |= window.nextDayMask();
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Hour masks contributed by a single restriction hour row
+     */
+    record RestrictionWindow(int categoryCode, int dayIndex, int sameDayMask, int nextDayMask) {
+
+        static RestrictionWindow of(Integer categoryCode, String dayOfWeek, Boolean hasRestrictionHour,
+                                    Integer startHour, Integer endHour) {
+            int dayIndex = RestrictionEvaluationEngine.dayIndex(dayOfWeek);
+            if (dayIndex < 0 || !Boolean.TRUE.equals(hasRestrictionHour) || startHour == null || endHour == null) {
+                return new RestrictionWindow(categoryCode, Math.max(dayIndex, 0), 0, 0);
+            }
+
+            int start = startHour;
+            int end = endHour;
+            if (start < end) {
+                return new RestrictionWindow(categoryCode, dayIndex, hourRange(start, end), 0);
+            }
+            if (start > end) {
+                return new RestrictionWindow(categoryCode, dayIndex, hourRange(start, 24), hourRange(0, end));
+            }
+            return new RestrictionWindow(categoryCode, dayIndex, FULL_DAY_MASK, 0);
+        }
+
+        private static int hourRange(int fromInclusive, int toExclusive) {
+            return ((1 << toExclusive) - 1) & ~((1 << fromInclusive) - 1);
+        }
+    }
+}
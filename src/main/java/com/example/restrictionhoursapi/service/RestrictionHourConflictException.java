@@ -0,0 +1,53 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+
+import java.util.List;
+
+/**
+ * Thrown when rows of a batch cannot be written. Carries one RowConflict per rejected row
+ * so callers can fix the whole batch at once instead of one error at a time.
+ */
+public class RestrictionHourConflictException extends RuntimeException {
+
+    public enum Reason {
+        INVALID,
+        DUPLICATE_IN_BATCH,
+        ALREADY_EXISTS,
+        NOT_FOUND,
+        // If-Match named another version of the row
+        VERSION_MISMATCH,
+        // Lost a race with a concurrent write: unique key taken or row changed since it was read
+        CONCURRENT_WRITE
+    }
+
+    /**
+     * A rejected row: its position in the request, its composite key and why it was rejected
+     */
+    public record RowConflict(int index, Integer storeId, String dayOfWeek, String category,
+                              Integer categoryCode, Reason reason, String message) {
+
+        public static RowConflict of(int index, RestrictionHourKey key, Reason reason, String message) {
+            return new RowConflict(index, key.storeId(), key.dayOfWeek(), key.category(), key.categoryCode(),
+                reason, message);
+        }
+    }
+
+    private final List<RowConflict> conflicts;
+
+    public RestrictionHourConflictException(String message, List<RowConflict> conflicts) {
+        super(message);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<RowConflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Whether any row was rejected because its data is invalid rather than because of a conflict
+     */
+    public boolean hasInvalidRows() {
+        return conflicts.stream().anyMatch(conflict -> conflict.reason() == Reason.INVALID);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export of restriction hours as a JSON array, NDJSON or CSV.
+ *
+ * Rows are read from a JDBC cursor (fetch size 500) through RestrictionHourRepository.streamByFilters
+ * as RestrictionHourView projections and written straight to the output stream, so neither the
+ * persistence context nor the heap ever holds the whole table.
+ */
+@Service
+public class RestrictionHourExportService {
+
+    public enum Format {
+        JSON,
+        NDJSON,
+        CSV
+    }
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+        .addColumn("id")
+        .addColumn("storeId")
+        .addColumn("dayOfWeek")
+        .addColumn("category")
+        .addColumn("categoryCode")
+        .addColumn("categoryDesc")
+        .addColumn("hasRestrictionHour")
+        .addColumn("startHour")
+        .addColumn("endHour")
+        .addColumn("version")
+        .setUseHeader(true)
+        .build();
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter csvWriter;
+
+    public RestrictionHourExportService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvWriter = new CsvMapper().writerFor(RestrictionHourView.class)
+            .with(RestrictionHourView.filterProvider(null))
+            .with(CSV_SCHEMA);
+    }
+
+    /**
+     * Write the restriction hours matching the optional filters to the output stream
+     */
+    @Transactional(readOnly = true)
+    public void export(Integer storeId, String dayOfWeek, Integer categoryCode, Format format,
+                       OutputStream outputStream) throws IOException {
+        try (Stream<RestrictionHourView> rows = restrictionHourRepository.streamByFilters(storeId, dayOfWeek, categoryCode)) {
+            Iterator<RestrictionHourView> iterator = rows.iterator();
+            if (format == Format.CSV) {
+                writeCsv(iterator, outputStream);
+            } else {
+                writeJson(iterator, outputStream, format == Format.JSON);
+            }
+        }
+    }
+
+    private void writeJson(Iterator<RestrictionHourView> rows, OutputStream outputStream, boolean asArray) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            if (asArray) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                if (!asArray) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (asArray) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<RestrictionHourView> rows, OutputStream outputStream) throws IOException {
+        try (SequenceWriter sequenceWriter = csvWriter.writeValues(outputStream)) {
+            while (rows.hasNext()) {
+                sequenceWriter.write(rows.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.RowConflict;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming bulk import of restriction hours from NDJSON or CSV.
+ *
+ * Rows are pulled one at a time from Jackson's streaming parser and written in transactional
+ * chunks of CHUNK_SIZE through RestrictionHourService.importRestrictionHours, so heap use
+ * depends on the chunk size rather than the size of the upload.
+ */
+@Service
+public class RestrictionHourImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RestrictionHourImportService.class);
+
+    public static final int CHUNK_SIZE = 1000;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    @Autowired
+    private RestrictionHourService restrictionHourService;
+
+    public RestrictionHourImportService(ObjectMapper objectMapper) {
+        this.ndjsonReader = objectMapper.readerFor(RestrictionHour.class);
+
+        CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        this.csvReader = csvMapper.readerFor(RestrictionHour.class).with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Import restriction hours from the given stream. Invalid, duplicated and already existing
+     * rows are rejected and reported; all other rows are imported. A malformed document stops
+     * the import after the rows read so far have been committed.
+     */
+    public ImportReport importRestrictionHours(InputStream inputStream, Format format) throws IOException {
+        ImportReport report = new ImportReport();
+        ObjectReader reader = format == Format.CSV ? csvReader : ndjsonReader;
+
+        List<RestrictionHour> chunk = new ArrayList<>(CHUNK_SIZE);
+        long[] chunkRowNumbers = new long[CHUNK_SIZE];
+        try (MappingIterator<RestrictionHour> rows = reader.readValues(inputStream)) {
+            while (hasNextRow(rows, report)) {
+                report.rowRead();
+                long row = report.getRowsRead();
+                try {
+                    chunk.add(rows.nextValue());
+                } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                    report.rowRejected(row, "Unreadable row: " + describe(e));
+                    continue;
+                }
+                chunkRowNumbers[chunk.size() - 1] = row;
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, chunkRowNumbers, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, chunkRowNumbers, report);
+        }
+
+        log.info("Import finished: {} rows read, {} imported, {} rejected",
+            report.getRowsRead(), report.getRowsImported(), report.getRowsRejected());
+        return report;
+    }
+
+    private boolean hasNextRow(MappingIterator<RestrictionHour> rows, ImportReport report) throws IOException {
+        try {
+            boolean hasNext = rows.hasNextValue();
+            if (!hasNext) {
+                report.completed();
+            }
+            return hasNext;
+        } catch (JsonProcessingException e) {
+            report.rowRejected(report.getRowsRead() + 1, "Malformed input, import stopped: " + e.getOriginalMessage());
+            return false;
+        }
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof RuntimeJsonMappingException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof JsonProcessingException parseError ? parseError.getOriginalMessage() : cause.getMessage();
+    }
+
+    private void writeChunk(List<RestrictionHour> chunk, long[] chunkRowNumbers, ImportReport report) {
+        List<RowConflict> conflicts = restrictionHourService.importRestrictionHours(chunk);
+        for (RowConflict conflict : conflicts) {
+            report.rowRejected(chunkRowNumbers[conflict.index()], conflict.reason() + ": " + conflict.message());
+        }
+        report.chunkCommitted(chunk.size() - conflicts.size());
+        log.info("Import progress: {} rows read, {} imported, {} rejected",
+            report.getRowsRead(), report.getRowsImported(), report.getRowsRejected());
+    }
+}
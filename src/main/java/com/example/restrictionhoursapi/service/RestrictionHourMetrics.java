@@ -0,0 +1,69 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.Reason;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.RowConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Business counters of RestrictionHourService, exported next to the HTTP and repository timers:
+ * - restriction.hours.validation.rejections: rows rejected as invalid
+ * - restriction.hours.conflicts{reason}: rows rejected as duplicated, already existing, not found,
+ *   not matching If-Match or losing a race with a concurrent write
+ * - restriction.hours.batch.delete.partial: batch deletes where some keys were not found
+ * - restriction.hours.batch.delete.missing.keys: keys of batch deletes that were not found
+ */
+@Component
+public class RestrictionHourMetrics {
+
+    private final Counter validationRejections;
+    private final Map<Reason, Counter> conflicts = new EnumMap<>(Reason.class);
+    private final Counter partialBatchDeletes;
+    private final Counter missingBatchDeleteKeys;
+
+    public RestrictionHourMetrics(MeterRegistry meterRegistry) {
+        this.validationRejections = Counter.builder("restriction.hours.validation.rejections")
+            .description("Restriction hours rejected because their data is invalid")
+            .register(meterRegistry);
+        for (Reason reason : Reason.values()) {
+            if (reason != Reason.INVALID) {
+                conflicts.put(reason, Counter.builder("restriction.hours.conflicts")
+                    .description("Restriction hours rejected because of their composite key")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+            }
+        }
+        this.partialBatchDeletes = Counter.builder("restriction.hours.batch.delete.partial")
+            .description("Batch deletes in which some keys were not found")
+            .register(meterRegistry);
+        this.missingBatchDeleteKeys = Counter.builder("restriction.hours.batch.delete.missing.keys")
+            .description("Keys of batch deletes that were not found")
+            .register(meterRegistry);
+    }
+
+    public void validationRejected() {
+        validationRejections.increment();
+    }
+
+    public void conflict(Reason reason) {
+        if (reason == Reason.INVALID) {
+            validationRejected();
+        } else {
+            conflicts.get(reason).increment();
+        }
+    }
+
+    public void conflicts(List<RowConflict> rowConflicts) {
+        rowConflicts.forEach(rowConflict -> conflict(rowConflict.reason()));
+    }
+
+    public void partialBatchDelete(int missingKeys) {
+        partialBatchDeletes.increment();
+        missingBatchDeleteKeys.increment(missingKeys);
+    }
+}
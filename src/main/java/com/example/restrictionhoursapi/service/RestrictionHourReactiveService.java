@@ -0,0 +1,86 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking reads served from the RestrictionHourSnapshot.
+ *
+ * Every Flux is cold and lazy: rows are pulled from the snapshot lists one request(n) at a time,
+ * so a slow subscriber only delays its own stream and nothing is materialized up front.
+ */
+@Service
+public class RestrictionHourReactiveService {
+
+    @Autowired
+    private RestrictionHourSnapshot restrictionHourSnapshot;
+
+    /**
+     * Stream all restriction hours in (storeId, id) order
+     */
+    public Flux<RestrictionHourView> getAllRestrictionHours() {
+        return Flux.defer(() -> Flux.fromIterable(restrictionHourSnapshot.getStores()))
+            .concatMapIterable(rows -> rows);
+    }
+
+    /**
+     * Get restriction hour by ID
+     */
+    public Mono<RestrictionHourView> getRestrictionHourById(Long id) {
+        return Mono.defer(() -> Mono.justOrEmpty(restrictionHourSnapshot.getById(id)));
+    }
+
+    /**
+     * Stream restriction hours by store ID
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursByStoreId(Integer storeId) {
+        return Flux.defer(() -> Flux.fromIterable(restrictionHourSnapshot.getByStoreId(storeId)));
+    }
+
+    /**
+     * Stream restriction hours by store ID and day of week
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursByStoreIdAndDay(Integer storeId, String dayOfWeek) {
+        return getRestrictionHoursByStoreId(storeId).filter(view -> dayOfWeek.equals(view.dayOfWeek()));
+    }
+
+    /**
+     * Stream restriction hours by day of week
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursByDay(String dayOfWeek) {
+        return filterAll(view -> dayOfWeek.equals(view.dayOfWeek()));
+    }
+
+    /**
+     * Stream restriction hours by category code
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursByCategoryCode(Integer categoryCode) {
+        return filterAll(view -> categoryCode.equals(view.categoryCode()));
+    }
+
+    /**
+     * Stream restriction hours that have restrictions enabled
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursWithRestrictions() {
+        return filterAll(view -> Boolean.TRUE.equals(view.hasRestrictionHour()));
+    }
+
+    /**
+     * Stream restriction hours of several stores, store by store in the order requested
+     */
+    public Flux<RestrictionHourView> getRestrictionHoursByStoreIds(List<Integer> storeIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(storeIds))
+            .concatMapIterable(restrictionHourSnapshot::getByStoreId);
+    }
+
+    private Flux<RestrictionHourView> filterAll(Predicate<RestrictionHourView> predicate) {
+        return getAllRestrictionHours().filter(predicate);
+    }
+}
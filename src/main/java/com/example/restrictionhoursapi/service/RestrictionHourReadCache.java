@@ -0,0 +1,225 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded Caffeine caches in front of the RestrictionHourService read queries.
+ *
+ * Entries expire by size and TTL, and are evicted key by key once a RestrictionHoursChangedEvent
+ * has been committed. Multi-store lookups are served from the per-store cache so that a write
+ * only ever has to evict the store it touched. Statistics are also exported as cache.* meters.
+ *
+ * The caches are asynchronous so that a miss is loaded by the calling thread outside of any lock:
+ * a synchronous Caffeine get runs the loader inside a ConcurrentHashMap bin lock, which would pin a
+ * virtual thread to its carrier for the whole query. Concurrent misses on the same key wait on the
+ * first caller's future instead of querying again.
+ */
+@Component
+public class RestrictionHourReadCache implements MeterBinder {
+
+    public static final String BY_STORE = "byStore";
+    public static final String BY_STORE_AND_DAY = "byStoreAndDay";
+    public static final String BY_DAY = "byDay";
+    public static final String BY_CATEGORY_CODE = "byCategoryCode";
+    public static final String WITH_RESTRICTIONS = "withRestrictions";
+
+    private final AsyncCache<Integer, List<RestrictionHourView>> byStore;
+    private final AsyncCache<StoreDay, List<RestrictionHourView>> byStoreAndDay;
+    private final AsyncCache<String, List<RestrictionHourView>> byDay;
+    private final AsyncCache<Integer, List<RestrictionHourView>> byCategoryCode;
+    private final AsyncCache<Boolean, List<RestrictionHourView>> withRestrictions;
+
+    public RestrictionHourReadCache(
+            @Value("${restriction-hours.cache.maximum-size:10000}") long maximumSize,
+            @Value("${restriction-hours.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.byStore = newCache(maximumSize, expireAfterWrite);
+        this.byStoreAndDay = newCache(maximumSize, expireAfterWrite);
+        this.byDay = newCache(maximumSize, expireAfterWrite);
+        this.byCategoryCode = newCache(maximumSize, expireAfterWrite);
+        this.withRestrictions = newCache(maximumSize, expireAfterWrite);
+    }
+
+    public List<RestrictionHourView> getByStoreId(Integer storeId,
+                                                  Function<Integer, List<RestrictionHourView>> loader) {
+        return load(byStore, storeId, loader);
+    }
+
+    public List<RestrictionHourView> getByStoreIdAndDay(Integer storeId, String dayOfWeek,
+                                                        Function<StoreDay, List<RestrictionHourView>> loader) {
+        return load(byStoreAndDay, new StoreDay(storeId, dayOfWeek), loader);
+    }
+
+    public List<RestrictionHourView> getByDay(String dayOfWeek, Function<String, List<RestrictionHourView>> loader) {
+        return load(byDay, dayOfWeek, loader);
+    }
+
+    public List<RestrictionHourView> getByCategoryCode(Integer categoryCode,
+                                                       Function<Integer, List<RestrictionHourView>> loader) {
+        return load(byCategoryCode, categoryCode, loader);
+    }
+
+    public List<RestrictionHourView> getWithRestrictions(Supplier<List<RestrictionHourView>> loader) {
+        return load(withRestrictions, Boolean.TRUE, key -> loader.get());
+    }
+
+    /**
+     * Get restriction hours for several stores, loading only the stores missing from the cache
+     * with a single call to the loader, which returns their rows grouped by store ID. Results keep the
+     * order of the requested store IDs.
+     * Caffeine calls the bulk loader on this thread after registering the missing keys, not under a lock.
+     */
+    public List<RestrictionHourView> getByStoreIds(List<Integer> storeIds,
+                                                   Function<Set<Integer>, Map<Integer, List<RestrictionHourView>>> loader) {
+        CompletableFuture<Map<Integer, List<RestrictionHourView>>> pending =
+                byStore.getAll(new LinkedHashSet<>(storeIds), (missing, executor) -> {
+            Set<Integer> missingIds = new HashSet<>();
+            missing.forEach(missingIds::add);
+            Map<Integer, List<RestrictionHourView>> loaded = loader.apply(missingIds);
+            Map<Integer, List<RestrictionHourView>> result = new LinkedHashMap<>();
+            for (Integer storeId : missingIds) {
+                result.put(storeId, List.copyOf(loaded.getOrDefault(storeId, List.of())));
+            }
+            return CompletableFuture.completedFuture(result);
+        });
+
+        List<RestrictionHourView> restrictionHours = new ArrayList<>();
+        join(pending).values().forEach(restrictionHours::addAll);
+        return restrictionHours;
+    }
+
+    /**
+     * Evict exactly the entries a committed write can have changed
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestrictionHoursChanged(RestrictionHoursChangedEvent event) {
+        List<RestrictionHourKey> keys = new ArrayList<>(event.getDeleted());
+        event.getSaved().forEach(restrictionHour -> keys.add(RestrictionHourKey.of(restrictionHour)));
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> storeIds = new HashSet<>();
+        Set<StoreDay> storeDays = new HashSet<>();
+        Set<String> days = new HashSet<>();
+        Set<Integer> categoryCodes = new HashSet<>();
+        for (RestrictionHourKey key : keys) {
+            storeIds.add(key.storeId());
+            storeDays.add(new StoreDay(key.storeId(), key.dayOfWeek()));
+            days.add(key.dayOfWeek());
+            categoryCodes.add(key.categoryCode());
+        }
+
+        byStore.synchronous().invalidateAll(storeIds);
+        byStoreAndDay.synchronous().invalidateAll(storeDays);
+        byDay.synchronous().invalidateAll(days);
+        byCategoryCode.synchronous().invalidateAll(categoryCodes);
+        withRestrictions.synchronous().invalidate(Boolean.TRUE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byStore, BY_STORE);
+        CaffeineCacheMetrics.monitor(registry, byStoreAndDay, BY_STORE_AND_DAY);
+        CaffeineCacheMetrics.monitor(registry, byDay, BY_DAY);
+        CaffeineCacheMetrics.monitor(registry, byCategoryCode, BY_CATEGORY_CODE);
+        CaffeineCacheMetrics.monitor(registry, withRestrictions, WITH_RESTRICTIONS);
+    }
+
+    /**
+     * Hit/miss/eviction statistics per cache
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put(BY_STORE, byStore.synchronous().stats());
+        stats.put(BY_STORE_AND_DAY, byStoreAndDay.synchronous().stats());
+        stats.put(BY_DAY, byDay.synchronous().stats());
+        stats.put(BY_CATEGORY_CODE, byCategoryCode.synchronous().stats());
+        stats.put(WITH_RESTRICTIONS, withRestrictions.synchronous().stats());
+        return stats;
+    }
+
+    /**
+     * Current number of entries per cache
+     */
+    public Map<String, Long> getSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put(BY_STORE, byStore.synchronous().estimatedSize());
+        sizes.put(BY_STORE_AND_DAY, byStoreAndDay.synchronous().estimatedSize());
+        sizes.put(BY_DAY, byDay.synchronous().estimatedSize());
+        sizes.put(BY_CATEGORY_CODE, byCategoryCode.synchronous().estimatedSize());
+        sizes.put(WITH_RESTRICTIONS, withRestrictions.synchronous().estimatedSize());
+        return sizes;
+    }
+
+    /**
+     * Get a cached value, or load it on the calling thread. Only the pending future is installed
+     * under Caffeine's lock; the query runs after that, and a failed load is dropped from the cache.
+     */
+    private static <K> List<RestrictionHourView> load(AsyncCache<K, List<RestrictionHourView>> cache, K key,
+                                                      Function<? super K, List<RestrictionHourView>> loader) {
+        CompletableFuture<List<RestrictionHourView>> loading = new CompletableFuture<>();
+        CompletableFuture<List<RestrictionHourView>> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(List.copyOf(loader.apply(key)));
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return join(cached);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <K> AsyncCache<K, List<RestrictionHourView>> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Cache key for store ID and day of week lookups
+     */
+    public record StoreDay(Integer storeId, String dayOfWeek) {
+    }
+}
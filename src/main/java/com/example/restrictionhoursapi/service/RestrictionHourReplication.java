@@ -0,0 +1,236 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository;
+import com.example.restrictionhoursapi.repository.RestrictionHourOutboxRepository;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps this node's in-memory read models in sync with writes made by every node sharing the database.
+ *
+ * Each write transaction records the keys it touched in restriction_hours_outbox under a new version,
+ * just before it commits. Every node polls the log for versions above the one it has applied, reads
+ * the current rows of those keys and publishes them as a RestrictionHoursChangedEvent outside of any
+ * transaction, so the snapshot, evaluation engine, read cache and ETag versions apply the delta through
+ * their usual listeners. A node also applies its own versions; that repeats work its listeners already
+ * did at commit, but is harmless because the event carries the current rows, not the change.
+ *
+ * The rows are read and published inside RestrictionHourSnapshot.exclusively, so no local write's
+ * event is applied between the read and the publication: a write committed after the read is
+ * applied after the poll's rows instead of being overwritten by them.
+ *
+ * If the versions a node needs have already been purged (it was paused longer than the retention),
+ * the node resyncs: every row is reloaded and keys no longer in the database are deleted.
+ *
+ * Staleness is bounded by the poll interval plus the time to apply a poll, and is visible through
+ * getAppliedVersion / getStalenessMillis, the X-Snapshot-* response headers and the
+ * restriction.hours.replication.* gauges.
+ */
+@Component
+@ConditionalOnProperty(prefix = "restriction-hours.replication", name = "enabled", havingValue = "true")
+public class RestrictionHourReplication implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RestrictionHourReplication.class);
+
+    @Autowired
+    private RestrictionHourOutboxRepository restrictionHourOutboxRepository;
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    @Autowired
+    private RestrictionHourJdbcRepository restrictionHourJdbcRepository;
+
+    @Autowired
+    private RestrictionHourSnapshot restrictionHourSnapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Duration pollInterval;
+    private final int maxVersionsPerPoll;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong resyncs = new AtomicLong();
+    private volatile long appliedVersion = -1;
+    private volatile long latestVersion;
+    // Start of the last poll that found nothing left to apply; 0 until the first one
+    private volatile long upToDateAt;
+    private volatile long lastPurgeAt;
+
+    public RestrictionHourReplication(
+            @Value("${restriction-hours.replication.poll-interval:500ms}") Duration pollInterval,
+            @Value("${restriction-hours.replication.max-versions-per-poll:1000}") int maxVersionsPerPoll,
+            @Value("${restriction-hours.replication.retention:1h}") Duration retention) {
+        this.pollInterval = pollInterval;
+        this.maxVersionsPerPoll = maxVersionsPerPoll;
+        this.retention = retention;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replication-"));
+    }
+
+    /**
+     * Record the keys of a write in the outbox, inside the transaction that made it. Events replayed
+     * by poll are published without a transaction and therefore never reach this listener.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRestrictionHoursChanged(RestrictionHoursChangedEvent event) {
+        List<RestrictionHourKey> keys = new ArrayList<>(event.getDeleted());
+        event.getSaved().forEach(restrictionHour -> keys.add(RestrictionHourKey.of(restrictionHour)));
+        if (!keys.isEmpty()) {
+            restrictionHourOutboxRepository.append(keys);
+        }
+    }
+
+    /**
+     * Start polling once every listener is registered; the first poll resyncs with the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Latest version of the shared log this node has applied, -1 before the first sync
+     */
+    public long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    /**
+     * How old this node's view may be: time since the start of the last poll that caught up
+     */
+    public long getStalenessMillis() {
+        long at = upToDateAt;
+        return at == 0 ? -1 : System.currentTimeMillis() - at;
+    }
+
+    void poll() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            if (appliedVersion < 0) {
+                restrictionHourSnapshot.exclusively(this::resync);
+            }
+            long latest = restrictionHourOutboxRepository.findLatestVersion();
+            latestVersion = latest;
+            while (appliedVersion < latest) {
+                long upTo = Math.min(latest, appliedVersion + maxVersionsPerPoll);
+                Set<RestrictionHourKey> keys = restrictionHourOutboxRepository.findKeys(appliedVersion, upTo);
+                // Checked after reading: versions are purged oldest first, so if the next one is still
+                // there, none of the versions just read had been purged
+                Long oldest = restrictionHourOutboxRepository.findOldestVersion();
+                if (oldest == null || oldest > appliedVersion + 1) {
+                    restrictionHourSnapshot.exclusively(this::resync);
+                    continue;
+                }
+                restrictionHourSnapshot.exclusively(() -> apply(keys));
+                appliedVersion = upTo;
+            }
+            upToDateAt = startedAt;
+
+            if (startedAt - lastPurgeAt >= retention.toMillis() / 10) {
+                restrictionHourOutboxRepository.deleteOlderThan(retention);
+                lastPurgeAt = startedAt;
+            }
+        } catch (RuntimeException e) {
+            // Keep polling; staleness grows until the database is reachable again
+            log.warn("Replication poll failed at version {}", appliedVersion, e);
+        }
+    }
+
+    /**
+     * Publish the current rows of the given keys, and the keys that no longer have a row as deleted.
+     * The ids of deleted rows are not known here, so whatever row the snapshot holds is deleted.
+     */
+    private void apply(Set<RestrictionHourKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Map<RestrictionHourKey, Long> ids = restrictionHourJdbcRepository.findIdsByKeys(keys);
+        List<RestrictionHour> saved = restrictionHourRepository.findAllById(ids.values());
+        Map<RestrictionHourKey, Long> deleted = new HashMap<>();
+        keys.stream().filter(key -> !ids.containsKey(key)).forEach(key -> deleted.put(key, null));
+        eventPublisher.publishEvent(new RestrictionHoursChangedEvent(saved, deleted));
+    }
+
+    /**
+     * Reload every row and drop the keys the database no longer has. The version is read first,
+     * so the rows are at least as new as the version recorded as applied.
+     */
+    private void resync() {
+        long version = restrictionHourOutboxRepository.findLatestVersion();
+        List<RestrictionHour> saved = restrictionHourRepository.findAll();
+
+        Set<RestrictionHourKey> stored = new HashSet<>();
+        saved.forEach(restrictionHour -> stored.add(RestrictionHourKey.of(restrictionHour)));
+        Map<RestrictionHourKey, Long> deleted = new HashMap<>();
+        for (List<RestrictionHourView> store : restrictionHourSnapshot.getStores()) {
+            for (RestrictionHourView view : store) {
+                RestrictionHourKey key = RestrictionHourKey.of(view);
+                if (!stored.contains(key)) {
+                    deleted.put(key, view.id());
+                }
+            }
+        }
+
+        eventPublisher.publishEvent(new RestrictionHoursChangedEvent(saved, deleted));
+        appliedVersion = version;
+        resyncs.incrementAndGet();
+        log.info("Resynced {} restriction hours at version {}", saved.size(), version);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("restriction.hours.replication.applied.version", this, replication -> replication.appliedVersion)
+            .description("Latest version of the shared change log applied by this node")
+            .register(registry);
+        Gauge.builder("restriction.hours.replication.lag.versions", this,
+                replication -> Math.max(0, replication.latestVersion - replication.appliedVersion))
+            .description("Versions seen in the change log but not yet applied by this node")
+            .register(registry);
+        TimeGauge.builder("restriction.hours.replication.staleness", this, TimeUnit.MILLISECONDS,
+                RestrictionHourReplication::getStalenessMillis)
+            .description("Time since this node last caught up with the change log")
+            .register(registry);
+        FunctionCounter.builder("restriction.hours.replication.resyncs", resyncs, AtomicLong::get)
+            .description("Full reloads of this node from the database, at startup or after falling behind the retention")
+            .register(registry);
+    }
+}
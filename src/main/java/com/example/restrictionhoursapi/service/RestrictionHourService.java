@@ -1,75 +1,246 @@
 package com.example.restrictionhoursapi.service;
 
+import com.example.restrictionhoursapi.entity.DayOfWeekConverter;
 import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionCategoryDictionary;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository.StoredRow;
 import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.StoreSchedule;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.Reason;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.RowConflict;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 @Service
 public class RestrictionHourService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BASKET_CATEGORY_CODES = 1000;
+    
     @Autowired
     private RestrictionHourRepository restrictionHourRepository;
     
+    @Autowired
+    private RestrictionHourJdbcRepository restrictionHourJdbcRepository;
+    
+    @Autowired
+    private RestrictionCategoryDictionary restrictionCategoryDictionary;
+    
+    @Autowired
+    private RestrictionEvaluationEngine restrictionEvaluationEngine;
+    
+    @Autowired
+    private RestrictionHourReadCache restrictionHourReadCache;
+    
+    @Autowired
+    private RestrictionHourStoreLookup restrictionHourStoreLookup;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private RestrictionHourMetrics restrictionHourMetrics;
+    
+    @Autowired
+    private RestrictionHourValidator restrictionHourValidator;
+    
+    @Autowired
+    private RestrictionHourVersions restrictionHourVersions;
+    
     // GET operations
     
     /**
      * Get all restriction hours
      */
-    public List<RestrictionHour> getAllRestrictionHours() {
-        return restrictionHourRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<RestrictionHourView> getAllRestrictionHours() {
+        return restrictionHourRepository.findAllViews();
     }
     
     /**
      * Get restriction hour by ID
      */
-    public Optional<RestrictionHour> getRestrictionHourById(Long id) {
-        return restrictionHourRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<RestrictionHourView> getRestrictionHourById(Long id) {
+        return restrictionHourRepository.findViewById(id);
     }
     
     /**
      * Get restriction hours by store ID
      */
-    public List<RestrictionHour> getRestrictionHoursByStoreId(Integer storeId) {
-        return restrictionHourRepository.findByStoreId(storeId);
+    public List<RestrictionHourView> getRestrictionHoursByStoreId(Integer storeId) {
+        return restrictionHourReadCache.getByStoreId(storeId, restrictionHourRepository::findByStoreId);
     }
     
     /**
      * Get restriction hours by store ID and day of week
      */
-    public List<RestrictionHour> getRestrictionHoursByStoreIdAndDay(Integer storeId, String dayOfWeek) {
-        return restrictionHourRepository.findByStoreIdAndDayOfWeek(storeId, dayOfWeek);
+    public List<RestrictionHourView> getRestrictionHoursByStoreIdAndDay(Integer storeId, String dayOfWeek) {
+        return restrictionHourReadCache.getByStoreIdAndDay(storeId, dayOfWeek,
+            key -> restrictionHourRepository.findByStoreIdAndDayOfWeek(key.storeId(), key.dayOfWeek()));
     }
     
     /**
      * Get restriction hours by day of week
      */
-    public List<RestrictionHour> getRestrictionHoursByDay(String dayOfWeek) {
-        return restrictionHourRepository.findByDayOfWeek(dayOfWeek);
+    public List<RestrictionHourView> getRestrictionHoursByDay(String dayOfWeek) {
+        return restrictionHourReadCache.getByDay(dayOfWeek, restrictionHourRepository::findByDayOfWeek);
     }
     
     /**
      * Get restriction hours by category code
      */
-    public List<RestrictionHour> getRestrictionHoursByCategoryCode(Integer categoryCode) {
-        return restrictionHourRepository.findByCategoryCode(categoryCode);
+    public List<RestrictionHourView> getRestrictionHoursByCategoryCode(Integer categoryCode) {
+        return restrictionHourReadCache.getByCategoryCode(categoryCode, restrictionHourRepository::findByCategoryCode);
     }
     
     /**
      * Get restriction hours that have restrictions enabled
      */
-    public List<RestrictionHour> getRestrictionHoursWithRestrictions() {
-        return restrictionHourRepository.findByHasRestrictionHourTrue();
+    public List<RestrictionHourView> getRestrictionHoursWithRestrictions() {
+        return restrictionHourReadCache.getWithRestrictions(restrictionHourRepository::findByHasRestrictionHourTrue);
+    }
+    
+    /**
+     * Get restriction hours by multiple store IDs; stores missing from the cache are looked up in parallel chunks
+     */
+    public List<RestrictionHourView> getRestrictionHoursByStoreIds(List<Integer> storeIds) {
+        return restrictionHourReadCache.getByStoreIds(storeIds, restrictionHourStoreLookup::findByStoreIds);
+    }
+    
+    // Keyset-paginated GET operations, ordered by (storeId, id)
+    
+    /**
+     * Get one page of all restriction hours
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RestrictionHourView> getAllRestrictionHours(String cursor, int limit) {
+        return page(cursor, limit, (after, pageable) ->
+            restrictionHourRepository.findPageAfter(after.storeId(), after.id(), pageable));
+    }
+    
+    /**
+     * Get one page of restriction hours by day of week
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RestrictionHourView> getRestrictionHoursByDay(String dayOfWeek, String cursor, int limit) {
+        return page(cursor, limit, (after, pageable) ->
+            restrictionHourRepository.findPageByDayOfWeekAfter(dayOfWeek, after.storeId(), after.id(), pageable));
+    }
+    
+    /**
+     * Get one page of restriction hours by category code
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RestrictionHourView> getRestrictionHoursByCategoryCode(Integer categoryCode, String cursor, int limit) {
+        return page(cursor, limit, (after, pageable) ->
+            restrictionHourRepository.findPageByCategoryCodeAfter(categoryCode, after.storeId(), after.id(), pageable));
+    }
+    
+    /**
+     * Get one page of restriction hours that have restrictions enabled
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RestrictionHourView> getRestrictionHoursWithRestrictions(String cursor, int limit) {
+        return page(cursor, limit, (after, pageable) ->
+            restrictionHourRepository.findPageByHasRestrictionHourTrueAfter(after.storeId(), after.id(), pageable));
+    }
+    
+    /**
+     * Get one page of restriction hours by multiple store IDs
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<RestrictionHourView> getRestrictionHoursByStoreIds(List<Integer> storeIds, String cursor, int limit) {
+        return page(cursor, limit, (after, pageable) ->
+            restrictionHourStoreLookup.findPageAfter(storeIds, after, pageable.getPageSize()));
+    }
+    
+    /**
+     * Check whether a category is restricted at a store at the given time.
+     * Answered from the in-memory evaluation engine, no database access.
+     */
+    public boolean isRestricted(Integer storeId, Integer categoryCode, LocalDateTime at) {
+        return restrictionEvaluationEngine.isRestricted(storeId, categoryCode, at);
+    }
+    
+    /**
+     * Get which category codes of a basket are restricted at a store at the given time, in ascending
+     * order without duplicates. Answered from the in-memory evaluation engine, no database access.
+     */
+    public int[] getRestrictedCategoryCodes(Integer storeId, int[] categoryCodes, LocalDateTime at) {
+        if (categoryCodes == null) {
+            throw new IllegalArgumentException("Category codes cannot be null");
+        }
+        if (categoryCodes.length > MAX_BASKET_CATEGORY_CODES) {
+            throw new IllegalArgumentException("A basket can have at most " + MAX_BASKET_CATEGORY_CODES + " category codes");
+        }
+        return restrictionEvaluationEngine.getRestrictedCategoryCodes(storeId, categoryCodes, at);
+    }
+    
+    /**
+     * Get every (store, category code) restricted at the given time, from the engine's in-memory
+     * (day, hour) index: no database access, cost independent of the number of rows.
+     */
+    public List<ActiveRestriction> getActiveRestrictions(LocalDateTime at, Integer categoryCode) {
+        List<ActiveRestriction> active = restrictionEvaluationEngine.getActiveAt(at);
+        if (categoryCode == null) {
+            return active;
+        }
+        return active.stream().filter(restriction -> restriction.categoryCode() == categoryCode).toList();
     }
     
     /**
-     * Get restriction hours by multiple store IDs
+     * Get the restriction hour rows active at the given time, including overnight windows
+     * that started the previous day
      */
-    public List<RestrictionHour> getRestrictionHoursByStoreIds(List<Integer> storeIds) {
-        return restrictionHourRepository.findByStoreIdIn(storeIds);
+    @Transactional(readOnly = true)
+    public List<RestrictionHourView> getActiveRestrictionHours(LocalDateTime at) {
+        DayOfWeek day = at.getDayOfWeek();
+        return restrictionHourRepository.findActiveAt(dayName(day), dayName(day.minus(1)), at.getHour());
+    }
+    
+    /**
+     * Get the weekly schedule of a store: per category code, one 24-bit hour mask per day.
+     * Precompiled by the evaluation engine and kept up to date as rows change.
+     */
+    public StoreSchedule getStoreSchedule(Integer storeId) {
+        return restrictionEvaluationEngine.getStoreSchedule(storeId);
+    }
+    
+    /**
+     * Get hit/miss/eviction statistics of the read cache
+     */
+    public Map<String, CacheStats> getReadCacheStats() {
+        return restrictionHourReadCache.getStats();
+    }
+    
+    /**
+     * Get the current number of entries of the read cache
+     */
+    public Map<String, Long> getReadCacheSizes() {
+        return restrictionHourReadCache.getSizes();
     }
     
     // POST operations
@@ -77,70 +248,100 @@ public class RestrictionHourService {
     /**
      * Create a new restriction hour
      */
+    @Transactional
     public RestrictionHour createRestrictionHour(RestrictionHour restrictionHour) {
         // Validate the restriction hour data
-        validateRestrictionHour(restrictionHour);
+        validate(restrictionHour);
         
-        // Check if restriction hour already exists for this store and day
-        if (restrictionHourRepository.existsByStoreIdAndDayOfWeek(
-                restrictionHour.getStoreId(), restrictionHour.getDayOfWeek())) {
-            throw new IllegalArgumentException(
-                "Restriction hour already exists for store " + restrictionHour.getStoreId() + 
-                " on " + restrictionHour.getDayOfWeek());
+        // Check if restriction hour already exists for this composite key
+        RestrictionHourKey key = RestrictionHourKey.of(restrictionHour);
+        if (restrictionHourRepository.existsByStoreIdAndDayOfWeekAndCategoryAndCategoryCode(
+                key.storeId(), key.dayOfWeek(), key.category(), key.categoryCode())) {
+            restrictionHourMetrics.conflict(Reason.ALREADY_EXISTS);
+            throw new IllegalArgumentException("Restriction hour already exists for " + key);
         }
         
-        return restrictionHourRepository.save(restrictionHour);
+        restrictionCategoryDictionary.assignIds(restrictionHour);
+        RestrictionHour savedRestrictionHour = restrictionHourRepository.save(restrictionHour);
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.saved(List.of(savedRestrictionHour)));
+        return savedRestrictionHour;
     }
     
     /**
-     * Create multiple restriction hours
+     * Create multiple restriction hours in JDBC batches within one transaction.
+     * Every row is checked before anything is written; if any row is invalid, duplicated
+     * within the batch or already stored, a RestrictionHourConflictException reports all of them.
      */
+    @Transactional
     public List<RestrictionHour> createRestrictionHours(List<RestrictionHour> restrictionHours) {
-        // Validate each restriction hour
-        for (RestrictionHour restrictionHour : restrictionHours) {
-            validateRestrictionHour(restrictionHour);
-        }
+        List<RowConflict> conflicts = new ArrayList<>();
         
-        // Check for duplicates within the list
-        for (int i = 0; i < restrictionHours.size(); i++) {
-            for (int j = i + 1; j < restrictionHours.size(); j++) {
-                RestrictionHour rh1 = restrictionHours.get(i);
-                RestrictionHour rh2 = restrictionHours.get(j);
-                if (rh1.getStoreId().equals(rh2.getStoreId()) && 
-                    rh1.getDayOfWeek().equals(rh2.getDayOfWeek())) {
-                    throw new IllegalArgumentException(
-                        "Duplicate restriction hour found for store " + rh1.getStoreId() + 
-                        " on " + rh1.getDayOfWeek());
-                }
+        // Validate each restriction hour and detect duplicates within the list by composite key
+        Map<RestrictionHourKey, Integer> firstIndexByKey = indexBatch(restrictionHours, conflicts);
+        
+        // Check for existing entries in database, one query per chunk of stores
+        Set<RestrictionHourKey> existingKeys = restrictionHourJdbcRepository.findIdsByKeys(firstIndexByKey.keySet()).keySet();
+        for (Map.Entry<RestrictionHourKey, Integer> entry : firstIndexByKey.entrySet()) {
+            if (existingKeys.contains(entry.getKey())) {
+                conflicts.add(RowConflict.of(entry.getValue(), entry.getKey(), Reason.ALREADY_EXISTS,
+                    "Restriction hour already exists for " + entry.getKey()));
             }
         }
+        rejectConflicts(conflicts, restrictionHours.size());
         
-        // Check for existing entries in database
-        for (RestrictionHour restrictionHour : restrictionHours) {
-            if (restrictionHourRepository.existsByStoreIdAndDayOfWeek(
-                    restrictionHour.getStoreId(), restrictionHour.getDayOfWeek())) {
-                throw new IllegalArgumentException(
-                    "Restriction hour already exists for store " + restrictionHour.getStoreId() + 
-                    " on " + restrictionHour.getDayOfWeek());
+        List<RestrictionHour> savedRestrictionHours = restrictionHourJdbcRepository.insertAll(restrictionHours);
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.saved(savedRestrictionHours));
+        return savedRestrictionHours;
+    }
+    
+    /**
+     * Import a chunk of restriction hours within one transaction. Unlike createRestrictionHours,
+     * rows that are invalid, duplicated or already stored are skipped and returned as conflicts
+     * while the remaining rows are inserted.
+     */
+    @Transactional
+    public List<RowConflict> importRestrictionHours(List<RestrictionHour> restrictionHours) {
+        List<RowConflict> conflicts = new ArrayList<>();
+        Map<RestrictionHourKey, Integer> firstIndexByKey = indexBatch(restrictionHours, conflicts);
+        
+        Set<RestrictionHourKey> existingKeys = restrictionHourJdbcRepository.findIdsByKeys(firstIndexByKey.keySet()).keySet();
+        List<RestrictionHour> newRestrictionHours = new ArrayList<>(firstIndexByKey.size());
+        for (Map.Entry<RestrictionHourKey, Integer> entry : firstIndexByKey.entrySet()) {
+            if (existingKeys.contains(entry.getKey())) {
+                conflicts.add(RowConflict.of(entry.getValue(), entry.getKey(), Reason.ALREADY_EXISTS,
+                    "Restriction hour already exists for " + entry.getKey()));
+            } else {
+                newRestrictionHours.add(restrictionHours.get(entry.getValue()));
             }
         }
         
-        return restrictionHourRepository.saveAll(restrictionHours);
+        if (!newRestrictionHours.isEmpty()) {
+            restrictionHourJdbcRepository.insertAll(newRestrictionHours);
+            eventPublisher.publishEvent(RestrictionHoursChangedEvent.saved(newRestrictionHours));
+        }
+        restrictionHourMetrics.conflicts(conflicts);
+        conflicts.sort(Comparator.comparingInt(RowConflict::index));
+        return conflicts;
     }
     
     // PUT operations
     
     /**
-     * Update restriction hour by composite key (storeId, dayOfWeek, category, categoryCode)
+     * Update restriction hour by composite key (storeId, dayOfWeek, category, categoryCode).
+     * If ifMatch is given (an If-Match header value), the row is only updated while it still has
+     * the version it names; otherwise a RestrictionHourConflictException with VERSION_MISMATCH is
+     * thrown. A concurrent update committed after this check is caught by the @Version column on flush.
      */
+    @Transactional
     public RestrictionHour updateRestrictionHour(Integer storeId, String dayOfWeek, 
                                                String category, Integer categoryCode, 
-                                               RestrictionHour updatedRestrictionHour) {
+                                               RestrictionHour updatedRestrictionHour, String ifMatch) {
         // Find existing restriction hour by composite key
         RestrictionHour existingRestrictionHour = restrictionHourRepository
             .findByStoreIdAndDayOfWeekAndCategoryAndCategoryCode(storeId, dayOfWeek, category, categoryCode);
         
         if (existingRestrictionHour == null) {
+            restrictionHourMetrics.conflict(Reason.NOT_FOUND);
             throw new IllegalArgumentException(
                 "Restriction hour not found for Store ID: " + storeId + 
                 ", Day: " + dayOfWeek + 
@@ -148,22 +349,46 @@ public class RestrictionHourService {
                 ", Category Code: " + categoryCode);
         }
         
+        if (ifMatch != null && !restrictionHourVersions.rowMatches(
+                ifMatch, existingRestrictionHour.getId(), existingRestrictionHour.getVersion())) {
+            restrictionHourMetrics.conflict(Reason.VERSION_MISMATCH);
+            RestrictionHourKey key = RestrictionHourKey.of(existingRestrictionHour);
+            throw new RestrictionHourConflictException("Restriction hour has changed since it was read",
+                List.of(RowConflict.of(0, key, Reason.VERSION_MISMATCH, "If-Match does not match the current ETag "
+                    + restrictionHourVersions.rowETag(existingRestrictionHour.getId(), existingRestrictionHour.getVersion()))));
+        }
+        
         // Validate the updated data
-        validateRestrictionHour(updatedRestrictionHour);
+        validate(updatedRestrictionHour);
         
         // Update the fields (keep the same ID and composite key fields)
         existingRestrictionHour.setHasRestrictionHour(updatedRestrictionHour.getHasRestrictionHour());
         existingRestrictionHour.setStartHour(updatedRestrictionHour.getStartHour());
         existingRestrictionHour.setEndHour(updatedRestrictionHour.getEndHour());
         existingRestrictionHour.setCategoryDesc(updatedRestrictionHour.getCategoryDesc());
+        restrictionCategoryDictionary.assignIds(existingRestrictionHour);
         
-        return restrictionHourRepository.save(existingRestrictionHour);
+        // Flushed here so a lost @Version race surfaces as ObjectOptimisticLockingFailureException
+        RestrictionHour savedRestrictionHour = restrictionHourRepository.saveAndFlush(existingRestrictionHour);
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.saved(List.of(savedRestrictionHour)));
+        return savedRestrictionHour;
     }
     
     /**
-     * Update restriction hour by entity with composite key validation
+     * Update restriction hour by composite key, unconditionally
      */
-    public RestrictionHour updateRestrictionHour(RestrictionHour restrictionHour) {
+    @Transactional
+    public RestrictionHour updateRestrictionHour(Integer storeId, String dayOfWeek, 
+                                               String category, Integer categoryCode, 
+                                               RestrictionHour updatedRestrictionHour) {
+        return updateRestrictionHour(storeId, dayOfWeek, category, categoryCode, updatedRestrictionHour, null);
+    }
+    
+    /**
+     * Update restriction hour by entity with composite key validation, only while it matches ifMatch if given
+     */
+    @Transactional
+    public RestrictionHour updateRestrictionHour(RestrictionHour restrictionHour, String ifMatch) {
         if (restrictionHour.getStoreId() == null || restrictionHour.getDayOfWeek() == null ||
             restrictionHour.getCategory() == null || restrictionHour.getCategoryCode() == null) {
             throw new IllegalArgumentException("All composite key fields (storeId, dayOfWeek, category, categoryCode) must be provided");
@@ -174,15 +399,127 @@ public class RestrictionHourService {
             restrictionHour.getDayOfWeek(),
             restrictionHour.getCategory(),
             restrictionHour.getCategoryCode(),
-            restrictionHour
+            restrictionHour,
+            ifMatch
         );
     }
     
+    /**
+     * Update restriction hour by entity with composite key validation
+     */
+    @Transactional
+    public RestrictionHour updateRestrictionHour(RestrictionHour restrictionHour) {
+        return updateRestrictionHour(restrictionHour, null);
+    }
+    
+    /**
+     * Update multiple restriction hours by composite key within one transaction.
+     * All targeted rows are resolved with one query per chunk of stores and written with
+     * JDBC batch updates; if any row is invalid, duplicated or not found, nothing is updated
+     * and a RestrictionHourConflictException reports all of them. Rows deleted or changed by
+     * another request after they were resolved are reported as CONCURRENT_WRITE.
+     */
+    @Transactional
+    public List<RestrictionHour> updateRestrictionHours(List<RestrictionHour> restrictionHours) {
+        List<RowConflict> conflicts = new ArrayList<>();
+        Map<RestrictionHourKey, Integer> firstIndexByKey = indexBatch(restrictionHours, conflicts);
+        
+        Map<RestrictionHourKey, StoredRow> rowsByKey = restrictionHourJdbcRepository.findRowsByKeys(firstIndexByKey.keySet());
+        for (Map.Entry<RestrictionHourKey, Integer> entry : firstIndexByKey.entrySet()) {
+            StoredRow row = rowsByKey.get(entry.getKey());
+            if (row == null) {
+                conflicts.add(RowConflict.of(entry.getValue(), entry.getKey(), Reason.NOT_FOUND,
+                    "Restriction hour not found for " + entry.getKey()));
+            } else {
+                restrictionHours.get(entry.getValue()).setId(row.id());
+                restrictionHours.get(entry.getValue()).setVersion(row.version());
+            }
+        }
+        rejectConflicts(conflicts, restrictionHours.size());
+        
+        updateAll(restrictionHours, firstIndexByKey, restrictionHours.size());
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.saved(restrictionHours));
+        return restrictionHours;
+    }
+    
+    /**
+     * Replace the whole schedule of a store within one transaction. The current rows are read with
+     * one query and compared with the schedule by composite key: new keys are inserted, changed rows
+     * updated and keys missing from the schedule deleted, each with JDBC batches, while unchanged
+     * rows are not written at all. Rows may omit storeId; if any row is invalid, duplicated or
+     * belongs to another store, nothing is changed and a RestrictionHourConflictException reports
+     * all of them.
+     *
+     * The store is locked before its rows are read, so concurrent replaces of the same store run one
+     * after another and the last one leaves exactly its own schedule.
+     */
+    @Transactional
+    public ScheduleReplaceResult replaceStoreSchedule(Integer storeId, List<RestrictionHour> restrictionHours) {
+        if (restrictionHours == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        
+        for (RestrictionHour restrictionHour : restrictionHours) {
+            if (restrictionHour.getStoreId() == null) {
+                restrictionHour.setStoreId(storeId);
+            }
+        }
+        List<RowConflict> conflicts = new ArrayList<>();
+        Map<RestrictionHourKey, Integer> firstIndexByKey = indexBatch(restrictionHours, conflicts);
+        firstIndexByKey.entrySet().removeIf(entry -> {
+            if (entry.getKey().storeId().equals(storeId)) {
+                return false;
+            }
+            conflicts.add(RowConflict.of(entry.getValue(), entry.getKey(), Reason.INVALID,
+                "Store ID must match the store of the schedule: " + storeId));
+            return true;
+        });
+        rejectConflicts(conflicts, restrictionHours.size());
+        
+        restrictionHourJdbcRepository.lockStore(storeId);
+        Map<RestrictionHourKey, RestrictionHourView> currentByKey = new HashMap<>();
+        for (RestrictionHourView current : restrictionHourRepository.findByStoreId(storeId)) {
+            currentByKey.put(RestrictionHourKey.of(current), current);
+        }
+        
+        List<RestrictionHour> inserts = new ArrayList<>();
+        List<RestrictionHour> updates = new ArrayList<>();
+        int unchangedCount = 0;
+        for (Map.Entry<RestrictionHourKey, Integer> entry : firstIndexByKey.entrySet()) {
+            RestrictionHour desired = restrictionHours.get(entry.getValue());
+            RestrictionHourView current = currentByKey.remove(entry.getKey());
+            if (current == null) {
+                inserts.add(desired);
+            } else if (sameValues(current, desired)) {
+                unchangedCount++;
+            } else {
+                desired.setId(current.id());
+                desired.setVersion(current.version());
+                updates.add(desired);
+            }
+        }
+        
+        // Whatever is left in currentByKey is not part of the new schedule
+        restrictionHourJdbcRepository.insertAll(inserts);
+        updateAll(updates, firstIndexByKey, restrictionHours.size());
+        restrictionHourJdbcRepository.deleteByIds(currentByKey.values().stream().map(RestrictionHourView::id).toList());
+        
+        List<RestrictionHour> saved = new ArrayList<>(inserts);
+        saved.addAll(updates);
+        if (!saved.isEmpty() || !currentByKey.isEmpty()) {
+            Map<RestrictionHourKey, Long> deletedIds = new HashMap<>();
+            currentByKey.forEach((key, view) -> deletedIds.put(key, view.id()));
+            eventPublisher.publishEvent(new RestrictionHoursChangedEvent(saved, deletedIds));
+        }
+        return new ScheduleReplaceResult(inserts.size(), updates.size(), currentByKey.size(), unchangedCount);
+    }
+    
     // DELETE operations
     
     /**
      * Delete restriction hour by composite key (storeId, dayOfWeek, category, categoryCode)
      */
+    @Transactional
     public boolean deleteRestrictionHour(Integer storeId, String dayOfWeek, 
                                        String category, Integer categoryCode) {
         // Find existing restriction hour by composite key
@@ -198,12 +535,15 @@ public class RestrictionHourService {
         }
         
         restrictionHourRepository.delete(existingRestrictionHour);
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.deleted(
+            Map.of(RestrictionHourKey.of(existingRestrictionHour), existingRestrictionHour.getId())));
         return true;
     }
     
     /**
      * Delete restriction hour by entity with composite key validation
      */
+    @Transactional
     public boolean deleteRestrictionHour(RestrictionHour restrictionHour) {
         if (restrictionHour.getStoreId() == null || restrictionHour.getDayOfWeek() == null ||
             restrictionHour.getCategory() == null || restrictionHour.getCategoryCode() == null) {
@@ -219,82 +559,152 @@ public class RestrictionHourService {
     }
     
     /**
-     * Delete multiple restriction hours by composite keys
+     * Delete multiple restriction hours by composite keys within one transaction.
+     * Keys are resolved with one query per chunk of stores and removed with one DELETE per
+     * chunk of ids; keys that do not exist (or are incomplete) are reported back as missing.
      */
-    public int deleteRestrictionHours(List<RestrictionHour> restrictionHours) {
+    @Transactional
+    public BatchDeleteResult deleteRestrictionHours(List<RestrictionHour> restrictionHours) {
         if (restrictionHours == null || restrictionHours.isEmpty()) {
             throw new IllegalArgumentException("Restriction hours list cannot be empty");
         }
         
-        int deletedCount = 0;
+        Set<RestrictionHourKey> keys = new LinkedHashSet<>();
+        List<RestrictionHourKey> missingKeys = new ArrayList<>();
         for (RestrictionHour restrictionHour : restrictionHours) {
-            try {
-                deleteRestrictionHour(restrictionHour);
-                deletedCount++;
-            } catch (IllegalArgumentException e) {
-                // Log the error but continue with other deletions
-                System.err.println("Failed to delete restriction hour: " + e.getMessage());
+            RestrictionHourKey key = RestrictionHourKey.of(restrictionHour);
+            if (key.storeId() == null || key.dayOfWeek() == null || key.category() == null || key.categoryCode() == null) {
+                missingKeys.add(key);
+            } else {
+                keys.add(key);
             }
         }
         
+        Map<RestrictionHourKey, Long> idsByKey = restrictionHourJdbcRepository.findIdsByKeys(keys);
+        for (RestrictionHourKey key : keys) {
+            if (!idsByKey.containsKey(key)) {
+                missingKeys.add(key);
+            }
+        }
+        
+        int deletedCount = restrictionHourJdbcRepository.deleteByIds(idsByKey.values());
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.deleted(idsByKey));
+        if (!missingKeys.isEmpty()) {
+            restrictionHourMetrics.partialBatchDelete(missingKeys.size());
+        }
+        return new BatchDeleteResult(deletedCount, missingKeys);
+    }
+    
+    /**
+     * Delete all restriction hours of a store. The rows are deleted by the ids just read, so a row
+     * inserted concurrently is neither deleted nor reported as deleted.
+     */
+    @Transactional
+    public int deleteRestrictionHoursByStoreId(Integer storeId) {
+        Map<RestrictionHourKey, Long> idsByKey = restrictionHourJdbcRepository.findIdsByStoreId(storeId);
+        if (idsByKey.isEmpty()) {
+            return 0;
+        }
+        
+        int deletedCount = restrictionHourJdbcRepository.deleteByIds(idsByKey.values());
+        eventPublisher.publishEvent(RestrictionHoursChangedEvent.deleted(idsByKey));
         return deletedCount;
     }
     
     // Helper methods
     
+    // Day name as stored by RestrictionHourValidator, e.g. "Monday"
+    private static String dayName(DayOfWeek day) {
+        return DayOfWeekConverter.toName(day.getValue());
+    }
+    
+    // Whether a stored row already has the non-key values of a validated row
+    private static boolean sameValues(RestrictionHourView current, RestrictionHour desired) {
+        return Objects.equals(current.categoryDesc(), desired.getCategoryDesc())
+            && Objects.equals(current.hasRestrictionHour(), desired.getHasRestrictionHour())
+            && Objects.equals(current.startHour(), desired.getStartHour())
+            && Objects.equals(current.endHour(), desired.getEndHour());
+    }
+    
     /**
-     * Validate restriction hour data
+     * Fetch one keyset page: one row more than the limit is read to know whether another page follows
      */
-    private void validateRestrictionHour(RestrictionHour restrictionHour) {
-        if (restrictionHour.getStoreId() == null || restrictionHour.getStoreId() <= 0) {
-            throw new IllegalArgumentException("Store ID must be a positive number");
+    private KeysetPage<RestrictionHourView> page(String cursor, int limit,
+                                                 BiFunction<KeysetCursor, Pageable, List<RestrictionHourView>> finder) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
         }
         
-        if (restrictionHour.getDayOfWeek() == null || restrictionHour.getDayOfWeek().trim().isEmpty()) {
-            throw new IllegalArgumentException("Day of week cannot be empty");
+        List<RestrictionHourView> rows = finder.apply(KeysetCursor.decode(cursor), PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
         }
         
-        // Validate day of week
-        String[] validDays = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
-        boolean validDay = false;
-        for (String day : validDays) {
-            if (day.equalsIgnoreCase(restrictionHour.getDayOfWeek().trim())) {
-                restrictionHour.setDayOfWeek(day); // Set to proper case
-                validDay = true;
-                break;
+        RestrictionHourView last = rows.get(limit - 1);
+        return new KeysetPage<>(rows.subList(0, limit), new KeysetCursor(last.storeId(), last.id()).encode());
+    }
+    
+    /**
+     * Validate every row of a batch and index it by composite key. Invalid rows and rows whose
+     * key already appeared earlier in the batch are added to conflicts and left out of the index.
+     */
+    private Map<RestrictionHourKey, Integer> indexBatch(List<RestrictionHour> restrictionHours,
+                                                        List<RowConflict> conflicts) {
+        Map<RestrictionHourKey, Integer> firstIndexByKey = new HashMap<>(restrictionHours.size() * 2);
+        for (int i = 0; i < restrictionHours.size(); i++) {
+            RestrictionHour restrictionHour = restrictionHours.get(i);
+            String error = restrictionHourValidator.validate(restrictionHour);
+            if (error != null) {
+                conflicts.add(RowConflict.of(i, RestrictionHourKey.of(restrictionHour), Reason.INVALID, error));
+                continue;
+            }
+            
+            RestrictionHourKey key = RestrictionHourKey.of(restrictionHour);
+            Integer firstIndex = firstIndexByKey.putIfAbsent(key, i);
+            if (firstIndex != null) {
+                conflicts.add(RowConflict.of(i, key, Reason.DUPLICATE_IN_BATCH,
+                    "Duplicate of row " + firstIndex + " in this batch"));
             }
         }
-        if (!validDay) {
-            throw new IllegalArgumentException("Invalid day of week: " + restrictionHour.getDayOfWeek());
-        }
-        
-        if (restrictionHour.getCategory() == null || restrictionHour.getCategory().trim().isEmpty()) {
-            throw new IllegalArgumentException("Category cannot be empty");
-        }
-        
-        if (restrictionHour.getCategoryCode() == null) {
-            throw new IllegalArgumentException("Category code cannot be null");
-        }
-        
-        if (restrictionHour.getCategoryDesc() == null || restrictionHour.getCategoryDesc().trim().isEmpty()) {
-            throw new IllegalArgumentException("Category description cannot be empty");
+        return firstIndexByKey;
+    }
+    
+    /**
+     * Update rows read earlier in the same transaction. Any row deleted or changed since then is
+     * rejected as CONCURRENT_WRITE, which rolls the whole transaction back, so no event ever
+     * publishes a row that was not written.
+     */
+    private void updateAll(List<RestrictionHour> restrictionHours, Map<RestrictionHourKey, Integer> indexByKey,
+                           int batchSize) {
+        List<RowConflict> conflicts = new ArrayList<>();
+        for (RestrictionHour stale : restrictionHourJdbcRepository.updateAll(restrictionHours)) {
+            RestrictionHourKey key = RestrictionHourKey.of(stale);
+            conflicts.add(RowConflict.of(indexByKey.get(key), key, Reason.CONCURRENT_WRITE,
+                "Restriction hour was changed or deleted by another request: " + key));
         }
-        
-        if (restrictionHour.getHasRestrictionHour() == null) {
-            throw new IllegalArgumentException("Has restriction hour cannot be null");
+        rejectConflicts(conflicts, batchSize);
+    }
+    
+    /**
+     * Throw a RestrictionHourConflictException reporting all conflicts, if there are any
+     */
+    private void rejectConflicts(List<RowConflict> conflicts, int batchSize) {
+        if (!conflicts.isEmpty()) {
+            restrictionHourMetrics.conflicts(conflicts);
+            conflicts.sort(Comparator.comparingInt(RowConflict::index));
+            throw new RestrictionHourConflictException(
+                conflicts.size() + " of " + batchSize + " restriction hours were rejected", conflicts);
         }
-        
-        // Validate hours if restriction is enabled
-        if (restrictionHour.getHasRestrictionHour()) {
-            if (restrictionHour.getStartHour() == null || 
-                restrictionHour.getStartHour() < 0 || restrictionHour.getStartHour() > 23) {
-                throw new IllegalArgumentException("Start hour must be between 0 and 23");
-            }
-            
-            if (restrictionHour.getEndHour() == null || 
-                restrictionHour.getEndHour() < 0 || restrictionHour.getEndHour() > 23) {
-                throw new IllegalArgumentException("End hour must be between 0 and 23");
-            }
+    }
+    
+    /**
+     * Validate a single restriction hour, counting rejections; batch rows are counted as conflicts
+     */
+    private void validate(RestrictionHour restrictionHour) {
+        String error = restrictionHourValidator.validate(restrictionHour);
+        if (error != null) {
+            restrictionHourMetrics.validationRejected();
+            throw new IllegalArgumentException(error);
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
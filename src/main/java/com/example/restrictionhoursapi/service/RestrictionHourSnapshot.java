@@ -0,0 +1,223 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of every restriction hour, held as immutable RestrictionHourView lists per store.
+ *
+ * Loaded once at startup and kept in sync from RestrictionHoursChangedEvent, so reads never wait
+ * on a connection or a query. Stores are kept in storeId order and rows in id order, the same
+ * order as the keyset pages. A store's list is replaced copy-on-write; readers iterating an old
+ * list simply finish on the state they started with.
+ *
+ * Listeners of different writes may run in another order than the writes committed, so a change
+ * only replaces what it is newer than: a saved row replaces the row held under its key if it has a
+ * higher id (the key was deleted and inserted again) or the same id and a version at least as high,
+ * and a delete removes the held row only if it is the deleted row or an older one. Ids of recently
+ * deleted rows are remembered, so a save applied after the delete of the same row is dropped.
+ *
+ * With a snapshot file configured, the rows are saved on shutdown and the next start reads them
+ * back through RestrictionHourSnapshotFile if the table has not changed in between.
+ */
+@Component
+public class RestrictionHourSnapshot {
+
+    private static final Comparator<RestrictionHourView> BY_ID = Comparator.comparing(RestrictionHourView::id);
+
+    // Far more than the deletes whose listeners can still be overtaken by a save of the same row
+    private static final int RECENTLY_DELETED_IDS = 10_000;
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    @Autowired
+    private RestrictionHourSnapshotFile restrictionHourSnapshotFile;
+
+    private final ConcurrentSkipListMap<Integer, List<RestrictionHourView>> stores = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, RestrictionHourView> rows = new ConcurrentHashMap<>();
+    // Events are applied under the read lock; exclusively() takes the write lock
+    private final ReentrantReadWriteLock applyLock = new ReentrantReadWriteLock();
+    private final Map<Long, Boolean> recentlyDeletedIds = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > RECENTLY_DELETED_IDS;
+        }
+    };
+
+    /**
+     * Load every row, from the snapshot file if it is still current, otherwise from the database
+     */
+    @PostConstruct
+    public void load() {
+        Optional<List<RestrictionHourView>> saved = restrictionHourSnapshotFile.read();
+        stores.clear();
+        rows.clear();
+        if (saved.isPresent()) {
+            putSorted(saved.get());
+        } else {
+            apply(restrictionHourRepository.findAllViews(), Map.of());
+        }
+    }
+
+    /**
+     * Save the snapshot file for the next start
+     */
+    @PreDestroy
+    public void save() {
+        restrictionHourSnapshotFile.write(stores.values());
+    }
+
+    public Optional<RestrictionHourView> getById(Long id) {
+        return Optional.ofNullable(rows.get(id));
+    }
+
+    public List<RestrictionHourView> getByStoreId(Integer storeId) {
+        return stores.getOrDefault(storeId, List.of());
+    }
+
+    /**
+     * Rows of every store, one list per store in storeId order
+     */
+    public Collection<List<RestrictionHourView>> getStores() {
+        return stores.values();
+    }
+
+    /**
+     * Keep the snapshot in sync once a write has been committed
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestrictionHoursChanged(RestrictionHoursChangedEvent event) {
+        apply(event.getSaved().stream().map(RestrictionHourView::of).toList(), event.getDeletedIds());
+    }
+
+    /**
+     * Run work, typically reading rows from the database and publishing them as an event, without
+     * any other event being applied in between. A write that commits after the read then has its
+     * event applied after the rows read, never overwritten by them.
+     */
+    public void exclusively(Runnable work) {
+        applyLock.writeLock().lock();
+        try {
+            work.run();
+        } finally {
+            applyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply saved rows and deleted keys (with the deleted row's id, or null to delete whatever row
+     * holds the key), replacing only the lists of the affected stores
+     */
+    void apply(Collection<RestrictionHourView> saved, Map<RestrictionHourKey, Long> deletedIds) {
+        Map<Integer, List<RestrictionHourView>> savedByStore = saved.stream()
+            .collect(Collectors.groupingBy(RestrictionHourView::storeId));
+        Map<Integer, Map<RestrictionHourKey, Long>> deletedByStore = new HashMap<>();
+        deletedIds.forEach((key, id) -> deletedByStore.computeIfAbsent(key.storeId(), storeId -> new HashMap<>()).put(key, id));
+
+        Set<Integer> storeIds = new HashSet<>(savedByStore.keySet());
+        storeIds.addAll(deletedByStore.keySet());
+        applyLock.readLock().lock();
+        try {
+            for (Integer storeId : storeIds) {
+                stores.compute(storeId, (id, current) -> with(current == null ? List.of() : current,
+                    savedByStore.getOrDefault(storeId, List.of()), deletedByStore.getOrDefault(storeId, Map.of())));
+            }
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    // Rows in (storeId, id) order: each run of one store becomes its list as is
+    private void putSorted(List<RestrictionHourView> sorted) {
+        int from = 0;
+        while (from < sorted.size()) {
+            Integer storeId = sorted.get(from).storeId();
+            int to = from + 1;
+            while (to < sorted.size() && sorted.get(to).storeId().equals(storeId)) {
+                to++;
+            }
+            List<RestrictionHourView> store = List.copyOf(sorted.subList(from, to));
+            store.forEach(view -> rows.put(view.id(), view));
+            stores.put(storeId, store);
+            from = to;
+        }
+    }
+
+    // Runs inside the store's compute, so concurrent events for one store are applied one at a time
+    private List<RestrictionHourView> with(List<RestrictionHourView> current, List<RestrictionHourView> saved,
+                                           Map<RestrictionHourKey, Long> deletedIds) {
+        Map<RestrictionHourKey, RestrictionHourView> byKey = new HashMap<>(current.size() * 2);
+        current.forEach(view -> byKey.put(RestrictionHourKey.of(view), view));
+
+        deletedIds.forEach((key, deletedId) -> {
+            RestrictionHourView held = byKey.get(key);
+            if (held != null && (deletedId == null || held.id() <= deletedId)) {
+                byKey.remove(key);
+                rows.remove(held.id());
+            }
+            if (deletedId != null) {
+                markDeleted(deletedId);
+            }
+        });
+        for (RestrictionHourView view : saved) {
+            RestrictionHourKey key = RestrictionHourKey.of(view);
+            RestrictionHourView held = byKey.get(key);
+            if (wasDeleted(view.id()) || (held != null && !isNewer(view, held))) {
+                continue;
+            }
+            if (held != null) {
+                rows.remove(held.id());
+            }
+            byKey.put(key, view);
+            rows.put(view.id(), view);
+        }
+        if (byKey.isEmpty()) {
+            return null;
+        }
+        List<RestrictionHourView> next = new ArrayList<>(byKey.values());
+        next.sort(BY_ID);
+        return List.copyOf(next);
+    }
+
+    private static boolean isNewer(RestrictionHourView candidate, RestrictionHourView held) {
+        int byId = Long.compare(candidate.id(), held.id());
+        return byId > 0 || (byId == 0 && candidate.version() >= held.version());
+    }
+
+    private void markDeleted(Long id) {
+        synchronized (recentlyDeletedIds) {
+            recentlyDeletedIds.put(id, Boolean.TRUE);
+        }
+    }
+
+    private boolean wasDeleted(Long id) {
+        synchronized (recentlyDeletedIds) {
+            return recentlyDeletedIds.containsKey(id);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.DayOfWeekConverter;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Binary copy of RestrictionHourSnapshot on disk, so a warm start does not query and map every row.
+ *
+ * The file holds a header, a table of the distinct category and description strings, and one
+ * fixed-size record per row in (storeId, id) order. It is written on shutdown and memory-mapped on
+ * the next start; since every record has the same size, chunks of records are decoded in parallel.
+ *
+ * The header carries a fingerprint of the saved rows: their count, highest id and sum of versions.
+ * Inserts raise the highest id (ids are never reused), updates raise the version sum and deletes
+ * lower the count, so the file is only used while the fingerprint still matches the table; any
+ * write made since, by this node or another, makes the next start load from the database.
+ */
+@Component
+public class RestrictionHourSnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(RestrictionHourSnapshotFile.class);
+
+    private static final int MAGIC = 0x52485331;
+    private static final int FORMAT_VERSION = 1;
+    // id, version, storeId, categoryCode, category and categoryDesc string indexes,
+    // dayOfWeek number, hasRestrictionHour, startHour and endHour (-1 for null)
+    static final int RECORD_SIZE = 8 + 8 + 4 + 4 + 4 + 4 + 1 + 1 + 1 + 1;
+    private static final int RECORDS_PER_CHUNK = 8192;
+
+    private static final String FINGERPRINT_SQL =
+        "SELECT COUNT(*), COALESCE(MAX(id), 0), COALESCE(SUM(version), 0) FROM restriction_hours";
+
+    record Fingerprint(long rows, long maxId, long versionSum) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Path path;
+
+    public RestrictionHourSnapshotFile(@Value("${restriction-hours.snapshot-file:}") String path) {
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    /**
+     * Rows of the saved file in (storeId, id) order, or empty if there is no file or the table
+     * has changed since it was written
+     */
+    public Optional<List<RestrictionHourView>> read() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.info("Ignoring snapshot file {} written in another format", path);
+                return Optional.empty();
+            }
+            Fingerprint saved = new Fingerprint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            if (!saved.equals(databaseFingerprint())) {
+                log.info("Snapshot file {} is out of date, loading from the database", path);
+                return Optional.empty();
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+            }
+            int rows = Math.toIntExact(saved.rows());
+            int recordsStart = buffer.position();
+            if (channel.size() != recordsStart + (long) rows * RECORD_SIZE) {
+                log.warn("Snapshot file {} is truncated, loading from the database", path);
+                return Optional.empty();
+            }
+
+            RestrictionHourView[] views = new RestrictionHourView[rows];
+            IntStream.range(0, (rows + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK).parallel().forEach(chunk -> {
+                // Each chunk reads through its own view of the mapping
+                ByteBuffer records = buffer.duplicate();
+                int end = Math.min(rows, (chunk + 1) * RECORDS_PER_CHUNK);
+                for (int i = chunk * RECORDS_PER_CHUNK; i < end; i++) {
+                    views[i] = decode(records, recordsStart + i * RECORD_SIZE, strings);
+                }
+            });
+            log.info("Loaded {} restriction hours from snapshot file {}", rows, path);
+            return Optional.of(Arrays.asList(views));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read snapshot file {}, loading from the database", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Save the given rows, one list per store in storeId order, replacing the previous file atomically
+     */
+    public void write(Collection<List<RestrictionHourView>> stores) {
+        if (path == null) {
+            return;
+        }
+        List<RestrictionHourView> views = new ArrayList<>();
+        stores.forEach(views::addAll);
+
+        long maxId = 0;
+        long versionSum = 0;
+        Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+        for (RestrictionHourView view : views) {
+            maxId = Math.max(maxId, view.id());
+            versionSum += view.version();
+            stringIndexes.putIfAbsent(view.category(), stringIndexes.size());
+            stringIndexes.putIfAbsent(view.categoryDesc(), stringIndexes.size());
+        }
+        List<byte[]> encodedStrings = stringIndexes.keySet().stream()
+            .map(string -> string.getBytes(StandardCharsets.UTF_8))
+            .toList();
+
+        int headerSize = 4 + 4 + 8 + 8 + 8 + 4 + encodedStrings.stream().mapToInt(bytes -> 2 + bytes.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(Math.addExact(headerSize, Math.multiplyExact(views.size(), RECORD_SIZE)));
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(views.size()).putLong(maxId).putLong(versionSum);
+        buffer.putInt(encodedStrings.size());
+        for (byte[] bytes : encodedStrings) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        for (RestrictionHourView view : views) {
+            buffer.putLong(view.id())
+                .putLong(view.version())
+                .putInt(view.storeId())
+                .putInt(view.categoryCode())
+                .putInt(stringIndexes.get(view.category()))
+                .putInt(stringIndexes.get(view.categoryDesc()))
+                .put((byte) DayOfWeekConverter.toNumber(view.dayOfWeek()))
+                .put((byte) (view.hasRestrictionHour() ? 1 : 0))
+                .put(hour(view.startHour()))
+                .put(hour(view.endHour()));
+        }
+        buffer.flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} restriction hours to snapshot file {}", views.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not write snapshot file {}", path, e);
+        }
+    }
+
+    private Fingerprint databaseFingerprint() {
+        return jdbcTemplate.queryForObject(FINGERPRINT_SQL,
+            (rs, rowNum) -> new Fingerprint(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    private static RestrictionHourView decode(ByteBuffer records, int offset, String[] strings) {
+        return new RestrictionHourView(
+            records.getLong(offset),
+            records.getInt(offset + 16),
+            DayOfWeekConverter.toName(records.get(offset + 32)),
+            strings[records.getInt(offset + 24)],
+            records.getInt(offset + 20),
+            strings[records.getInt(offset + 28)],
+            records.get(offset + 33) != 0,
+            hour(records.get(offset + 34)),
+            hour(records.get(offset + 35)),
+            records.getLong(offset + 8));
+    }
+
+    private static byte hour(Integer hour) {
+        return hour == null ? -1 : hour.byteValue();
+    }
+
+    private static Integer hour(byte hour) {
+        return hour < 0 ? null : (int) hour;
+    }
+}
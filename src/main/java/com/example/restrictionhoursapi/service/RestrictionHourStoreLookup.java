@@ -0,0 +1,154 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-store lookups for /stores?ids=, split into IN lists of a few fixed sizes.
+ *
+ * Store IDs are sorted, de-duplicated and cut into chunks of at most CHUNK_SIZE. Each chunk is
+ * padded up to the next of PADDED_SIZES by repeating its last ID, so every query is one of a
+ * handful of statements the statement and plan caches have already seen, and no statement grows
+ * past JDBC parameter limits however many IDs a caller sends.
+ *
+ * Chunks run in parallel on a small bounded pool, so a single request can hold at most
+ * parallelism connections; when the queue is full the calling thread runs the chunk itself.
+ * Rows are merged into per-store lists as each chunk completes.
+ */
+@Component
+public class RestrictionHourStoreLookup {
+
+    public static final int CHUNK_SIZE = 256;
+    static final int[] PADDED_SIZES = {16, 64, CHUNK_SIZE};
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    private final ThreadPoolExecutor executor;
+
+    public RestrictionHourStoreLookup(
+            @Value("${restriction-hours.store-lookup.parallelism:4}") int parallelism,
+            @Value("${restriction-hours.store-lookup.queue-capacity:64}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("store-lookup-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Find the restriction hours of the given stores, grouped by store ID. Stores without rows are absent.
+     */
+    public Map<Integer, List<RestrictionHourView>> findByStoreIds(Collection<Integer> storeIds) {
+        List<List<Integer>> chunks = chunks(storeIds);
+        Map<Integer, List<RestrictionHourView>> byStore = new HashMap<>();
+        if (chunks.isEmpty()) {
+            return byStore;
+        }
+        if (chunks.size() == 1) {
+            merge(byStore, restrictionHourRepository.findByStoreIdIn(chunks.get(0)));
+            return byStore;
+        }
+
+        ExecutorCompletionService<List<RestrictionHourView>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<List<RestrictionHourView>>> futures = new ArrayList<>(chunks.size());
+        try {
+            for (List<Integer> chunk : chunks) {
+                futures.add(completion.submit(() -> restrictionHourRepository.findByStoreIdIn(chunk)));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                merge(byStore, completion.take().get());
+            }
+            return byStore;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up stores", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Store lookup failed", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Find up to limit rows of the given stores after the cursor, in (storeId, id) order. Chunks hold
+     * ascending, disjoint ranges of store IDs, so they are queried in order until the page is full.
+     */
+    public List<RestrictionHourView> findPageAfter(Collection<Integer> storeIds, KeysetCursor after, int limit) {
+        List<Integer> remaining = storeIds.stream()
+            .filter(Objects::nonNull)
+            .filter(storeId -> storeId >= after.storeId())
+            .toList();
+
+        List<RestrictionHourView> rows = new ArrayList<>(limit);
+        for (List<Integer> chunk : chunks(remaining)) {
+            rows.addAll(restrictionHourRepository.findPageByStoreIdInAfter(chunk, after.storeId(), after.id(),
+                PageRequest.of(0, limit - rows.size())));
+            if (rows.size() == limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sorted, distinct store IDs cut into padded chunks
+     */
+    static List<List<Integer>> chunks(Collection<Integer> storeIds) {
+        List<Integer> sorted = storeIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<List<Integer>> chunks = new ArrayList<>((sorted.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            chunks.add(pad(sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()))));
+        }
+        return chunks;
+    }
+
+    private static List<Integer> pad(List<Integer> chunk) {
+        int paddedSize = CHUNK_SIZE;
+        for (int size : PADDED_SIZES) {
+            if (size >= chunk.size()) {
+                paddedSize = size;
+                break;
+            }
+        }
+        List<Integer> padded = new ArrayList<>(paddedSize);
+        padded.addAll(chunk);
+        Integer last = chunk.get(chunk.size() - 1);
+        while (padded.size() < paddedSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    private static void merge(Map<Integer, List<RestrictionHourView>> byStore, List<RestrictionHourView> rows) {
+        for (RestrictionHourView row : rows) {
+            byStore.computeIfAbsent(row.storeId(), storeId -> new ArrayList<>()).add(row);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.DayOfWeekConverter;
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validation of incoming restriction hours for the create, update and import paths.
+ *
+ * Every field is checked in one pass and the first problem is returned as a message instead of
+ * being thrown, so a batch with many bad rows costs no more than one with none. Valid rows allocate
+ * nothing: the day of week is resolved without trimming or lower-casing, through a small open-addressing
+ * table keyed by a case-insensitive hash of the trimmed characters, and replaced by its shared constant.
+ *
+ * The checks cover the entity's Bean Validation constraints as well, so batch endpoints do not
+ * need @Valid on their request bodies.
+ */
+@Component
+public class RestrictionHourValidator {
+
+    private static final int MIN_HOUR = 0;
+    private static final int MAX_HOUR = 23;
+    // Width of the category and category_desc columns of restriction_categories
+    static final int MAX_CATEGORY_LENGTH = 255;
+
+    // Power of two larger than twice the number of days, so probe chains stay short
+    private static final String[] DAY_TABLE = new String[16];
+
+    static {
+        for (String day : DayOfWeekConverter.DAYS) {
+            int slot = foldedHash(day, 0, day.length()) & (DAY_TABLE.length - 1);
+            while (DAY_TABLE[slot] != null) {
+                slot = (slot + 1) & (DAY_TABLE.length - 1);
+            }
+            DAY_TABLE[slot] = day;
+        }
+    }
+
+    /**
+     * Validate a restriction hour and normalize its day of week to the stored spelling.
+     * Returns null if the row is valid, otherwise why it was rejected.
+     */
+    public String validate(RestrictionHour restrictionHour) {
+        Integer storeId = restrictionHour.getStoreId();
+        if (storeId == null || storeId <= 0) {
+            return "Store ID must be a positive number";
+        }
+
+        String dayOfWeek = restrictionHour.getDayOfWeek();
+        if (isEmptyAfterTrim(dayOfWeek)) {
+            return "Day of week cannot be empty";
+        }
+        String day = canonicalDay(dayOfWeek);
+        if (day == null) {
+            return "Invalid day of week: " + dayOfWeek;
+        }
+        restrictionHour.setDayOfWeek(day);
+
+        if (isEmptyAfterTrim(restrictionHour.getCategory())) {
+            return "Category cannot be empty";
+        }
+        if (restrictionHour.getCategory().length() > MAX_CATEGORY_LENGTH) {
+            return "Category must be at most " + MAX_CATEGORY_LENGTH + " characters";
+        }
+        if (restrictionHour.getCategoryCode() == null) {
+            return "Category code cannot be null";
+        }
+        if (isEmptyAfterTrim(restrictionHour.getCategoryDesc())) {
+            return "Category description cannot be empty";
+        }
+        if (restrictionHour.getCategoryDesc().length() > MAX_CATEGORY_LENGTH) {
+            return "Category description must be at most " + MAX_CATEGORY_LENGTH + " characters";
+        }
+
+        Boolean hasRestrictionHour = restrictionHour.getHasRestrictionHour();
+        if (hasRestrictionHour == null) {
+            return "Has restriction hour cannot be null";
+        }
+        // Hours are required when the restriction is enabled and must be in range whenever given
+        Integer startHour = restrictionHour.getStartHour();
+        if (startHour == null ? hasRestrictionHour : !isHour(startHour)) {
+            return "Start hour must be between 0 and 23";
+        }
+        Integer endHour = restrictionHour.getEndHour();
+        if (endHour == null ? hasRestrictionHour : !isHour(endHour)) {
+            return "End hour must be between 0 and 23";
+        }
+        return null;
+    }
+
+    /**
+     * The DayOfWeekConverter.DAYS constant matching the value ignoring case and surrounding
+     * whitespace, or null if there is none
+     */
+    static String canonicalDay(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        int slot = foldedHash(value, start, end) & (DAY_TABLE.length - 1);
+        for (String day = DAY_TABLE[slot]; day != null; day = DAY_TABLE[slot]) {
+            if (day.length() == length && day.regionMatches(true, 0, value, start, length)) {
+                return day;
+            }
+            slot = (slot + 1) & (DAY_TABLE.length - 1);
+        }
+        return null;
+    }
+
+    // Hash of value[start, end) that is equal for strings equal under String.regionMatches(true, ...)
+    private static int foldedHash(String value, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            hash = 31 * hash + (c < 0x80 ? c | 0x20 : Character.toLowerCase(Character.toUpperCase(c)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    // Same result as value.trim().isEmpty() without creating the trimmed copy
+    private static boolean isEmptyAfterTrim(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHour(int hour) {
+        return hour >= MIN_HOUR && hour <= MAX_HOUR;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Aggregate versions of the GET resources, used for ETag / Last-Modified without reading any rows.
+ *
+ * A single counter is incremented for every committed RestrictionHoursChangedEvent and stamped on
+ * the whole table and on each store, day and category code the event touched. Because the counter
+ * only grows, the newest stamp of several stores identifies their combined state. ETags carry the
+ * boot time so they never match a representation served by an earlier run of the application.
+ *
+ * The listener runs after the read cache and the evaluation engine have applied the same event,
+ * so a new ETag is never handed out together with old content.
+ */
+@Component
+public class RestrictionHourVersions {
+
+    /**
+     * Version of a resource: its ETag (quoted) and the time it last changed, in epoch millis
+     */
+    public record VersionStamp(String eTag, long lastModified) {
+    }
+
+    private record Stamp(long version, long lastModified) {
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Stamp initial = new Stamp(0, System.currentTimeMillis() / 1000 * 1000);
+    private final AtomicLong counter = new AtomicLong();
+
+    private final AtomicReference<Stamp> table = new AtomicReference<>(initial);
+    private final ConcurrentHashMap<Integer, Stamp> stores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Stamp> days = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Stamp> categoryCodes = new ConcurrentHashMap<>();
+
+    public VersionStamp all() {
+        return toVersionStamp(table.get());
+    }
+
+    public VersionStamp store(Integer storeId) {
+        return toVersionStamp(stores.getOrDefault(storeId, initial));
+    }
+
+    public VersionStamp stores(Collection<Integer> storeIds) {
+        Stamp newest = initial;
+        for (Integer storeId : storeIds) {
+            Stamp stamp = stores.getOrDefault(storeId, initial);
+            if (stamp.version() > newest.version()) {
+                newest = stamp;
+            }
+        }
+        return toVersionStamp(newest);
+    }
+
+    public VersionStamp day(String dayOfWeek) {
+        return toVersionStamp(days.getOrDefault(RestrictionEvaluationEngine.dayIndex(dayOfWeek), initial));
+    }
+
+    public VersionStamp categoryCode(Integer categoryCode) {
+        return toVersionStamp(categoryCodes.getOrDefault(categoryCode, initial));
+    }
+
+    /**
+     * ETag of a single row, from its @Version column
+     */
+    public String rowETag(Long id, Long version) {
+        return "\"" + epoch + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Whether an If-Match header value matches a row: "*", or a list of ETags one of which is a row
+     * ETag with the row's id and version. The epoch is not compared, so an ETag from another node or
+     * from before a restart of the same database still matches while the row is unchanged. Weak
+     * ETags never match, as If-Match uses strong comparison.
+     */
+    public boolean rowMatches(String ifMatch, Long id, Long version) {
+        String suffix = "-" + id + "-" + version + "\"";
+        for (String eTag : ifMatch.split(",")) {
+            String candidate = eTag.trim();
+            if (candidate.equals("*") || (candidate.startsWith("\"") && candidate.endsWith(suffix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestrictionHoursChanged(RestrictionHoursChangedEvent event) {
+        List<RestrictionHourKey> keys = new ArrayList<>(event.getDeleted());
+        event.getSaved().forEach(restrictionHour -> keys.add(RestrictionHourKey.of(restrictionHour)));
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> storeIds = new HashSet<>();
+        Set<Integer> dayIndexes = new HashSet<>();
+        Set<Integer> codes = new HashSet<>();
+        for (RestrictionHourKey key : keys) {
+            storeIds.add(key.storeId());
+            dayIndexes.add(RestrictionEvaluationEngine.dayIndex(key.dayOfWeek()));
+            codes.add(key.categoryCode());
+        }
+
+        Stamp stamp = new Stamp(counter.incrementAndGet(), System.currentTimeMillis() / 1000 * 1000);
+        storeIds.forEach(storeId -> stores.merge(storeId, stamp, RestrictionHourVersions::newer));
+        dayIndexes.forEach(dayIndex -> days.merge(dayIndex, stamp, RestrictionHourVersions::newer));
+        codes.forEach(code -> categoryCodes.merge(code, stamp, RestrictionHourVersions::newer));
+        table.accumulateAndGet(stamp, RestrictionHourVersions::newer);
+    }
+
+    // Concurrent commits may be applied out of order; a stamp never moves backwards
+    private static Stamp newer(Stamp current, Stamp candidate) {
+        return candidate.version() > current.version() ? candidate : current;
+    }
+
+    private VersionStamp toVersionStamp(Stamp stamp) {
+        return new VersionStamp("\"" + epoch + "-" + stamp.version() + "\"", stamp.lastModified());
+    }
+}
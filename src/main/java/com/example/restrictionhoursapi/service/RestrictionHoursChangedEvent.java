@@ -0,0 +1,52 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by RestrictionHourService after restriction hours were created, updated or deleted.
+ * Listeners use it to keep their in-memory read models in sync with the database.
+ *
+ * Deleted keys carry the id of the row that was deleted, so a read model can tell that delete from
+ * a later row inserted under the same key. The id is null when it is not known (replication), in
+ * which case whatever row holds the key is removed.
+ */
+public class RestrictionHoursChangedEvent {
+
+    private final List<RestrictionHour> saved;
+    private final Map<RestrictionHourKey, Long> deletedIds;
+
+    public RestrictionHoursChangedEvent(List<RestrictionHour> saved, Map<RestrictionHourKey, Long> deletedIds) {
+        this.saved = List.copyOf(saved);
+        this.deletedIds = Collections.unmodifiableMap(new LinkedHashMap<>(deletedIds));
+    }
+
+    public static RestrictionHoursChangedEvent saved(List<RestrictionHour> saved) {
+        return new RestrictionHoursChangedEvent(saved, Map.of());
+    }
+
+    public static RestrictionHoursChangedEvent deleted(Map<RestrictionHourKey, Long> deletedIds) {
+        return new RestrictionHoursChangedEvent(List.of(), deletedIds);
+    }
+
+    // Getters
+    public List<RestrictionHour> getSaved() {
+        return saved;
+    }
+
+    public List<RestrictionHourKey> getDeleted() {
+        return List.copyOf(deletedIds.keySet());
+    }
+
+    /**
+     * Deleted keys with the id of the row deleted under each, or null if unknown
+     */
+    public Map<RestrictionHourKey, Long> getDeletedIds() {
+        return deletedIds;
+    }
+}
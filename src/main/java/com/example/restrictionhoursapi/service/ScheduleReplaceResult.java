@@ -0,0 +1,7 @@
+package com.example.restrictionhoursapi.service;
+
+/**
+ * Outcome of replacing a store's schedule: rows inserted, updated, deleted and left as they were
+ */
+public record ScheduleReplaceResult(int insertedCount, int updatedCount, int deletedCount, int unchangedCount) {
+}
@@ -0,0 +1,121 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.StoreSchedule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable open-addressing map from store id to its compiled StoreSchedule, laid out like
+ * CategoryHourMasks so a lookup by store id does not box it.
+ *
+ * Store ids are stored densely in storeIds[] with their schedule at the same index; the
+ * power-of-two slots[] table holds index + 1 (0 = empty) and is probed linearly. A removed store
+ * keeps its entry with StoreSchedule.EMPTY until the table is next rebuilt, so a change that adds
+ * no store copies the arrays without rehashing. The table is rebuilt, dropping removed stores,
+ * when the dense arrays are full, which keeps slots[] at most half full.
+ */
+final class StoreScheduleTable {
+
+    static final StoreScheduleTable EMPTY = of(Map.of());
+
+    private final int[] slots;
+    private final int[] storeIds;
+    private final StoreSchedule[] schedules;
+    private final int size;
+
+    private StoreScheduleTable(int[] slots, int[] storeIds, StoreSchedule[] schedules, int size) {
+        this.slots = slots;
+        this.storeIds = storeIds;
+        this.schedules = schedules;
+        this.size = size;
+    }
+
+    /**
+     * Table of the given schedules, leaving out empty ones
+     */
+    static StoreScheduleTable of(Map<Integer, StoreSchedule> schedules) {
+        int live = (int) schedules.values().stream().filter(schedule -> schedule != StoreSchedule.EMPTY).count();
+        int entries = Integer.highestOneBit(Math.max(4, live * 2 - 1)) << 1;
+        StoreScheduleTable table = new StoreScheduleTable(new int[entries * 2], new int[entries],
+            new StoreSchedule[entries], 0);
+
+        int size = 0;
+        for (Map.Entry<Integer, StoreSchedule> entry : schedules.entrySet()) {
+            if (entry.getValue() != StoreSchedule.EMPTY) {
+                size = table.put(entry.getKey(), entry.getValue(), size);
+            }
+        }
+        return new StoreScheduleTable(table.slots, table.storeIds, table.schedules, size);
+    }
+
+    /**
+     * Schedule of a store, null if the store has never had one in this table
+     */
+    StoreSchedule get(int storeId) {
+        int index = indexOf(storeId);
+        return index < 0 ? null : schedules[index];
+    }
+
+    /**
+     * Copy of this table with the given schedules replaced; StoreSchedule.EMPTY removes a store
+     */
+    StoreScheduleTable with(Map<Integer, StoreSchedule> changes) {
+        int added = 0;
+        for (Map.Entry<Integer, StoreSchedule> change : changes.entrySet()) {
+            if (change.getValue() != StoreSchedule.EMPTY && indexOf(change.getKey()) < 0) {
+                added++;
+            }
+        }
+        if (size + added > storeIds.length) {
+            Map<Integer, StoreSchedule> rebuilt = new HashMap<>();
+            for (int index = 0; index < size; index++) {
+                rebuilt.put(storeIds[index], schedules[index]);
+            }
+            rebuilt.putAll(changes);
+            return of(rebuilt);
+        }
+
+        StoreScheduleTable copy = new StoreScheduleTable(slots.clone(), storeIds.clone(), schedules.clone(), size);
+        int newSize = size;
+        for (Map.Entry<Integer, StoreSchedule> change : changes.entrySet()) {
+            int index = copy.indexOf(change.getKey());
+            if (index >= 0) {
+                copy.schedules[index] = change.getValue();
+            } else if (change.getValue() != StoreSchedule.EMPTY) {
+                newSize = copy.put(change.getKey(), change.getValue(), newSize);
+            }
+        }
+        return new StoreScheduleTable(copy.slots, copy.storeIds, copy.schedules, newSize);
+    }
+
+    // Only used on a table that is still being built; returns the new number of entries
+    private int put(int storeId, StoreSchedule schedule, int index) {
+        int mask = slots.length - 1;
+        int slot = hash(storeId) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        storeIds[index] = storeId;
+        schedules[index] = schedule;
+        slots[slot] = index + 1;
+        return index + 1;
+    }
+
+    private int indexOf(int storeId) {
+        int mask = slots.length - 1;
+        for (int slot = hash(storeId) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (storeIds[index] == storeId) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Store ids are usually consecutive; spread them so they do not fill neighbouring slots
+    private static int hash(int storeId) {
+        int h = storeId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
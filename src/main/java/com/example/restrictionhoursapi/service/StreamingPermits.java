@@ -0,0 +1,78 @@
+package com.example.restrictionhoursapi.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for streamed responses (/export and the reactive NDJSON endpoints).
+ *
+ * Streams are written by the MVC async executor configured in AsyncStreamingConfig, which has one
+ * thread per permit. A stream that cannot get a permit is refused with 503 straight away instead of
+ * queueing behind slow clients, so at most maxConcurrent threads are ever tied up by streaming and
+ * servlet request threads never are.
+ */
+@Component
+public class StreamingPermits implements MeterBinder {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public StreamingPermits(@Value("${restriction-hours.streaming.max-concurrent:32}") int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Take a permit for a stream, or false if maxConcurrent streams are already running.
+     * Every permit taken must be given back with release().
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Admit a Flux as a stream, releasing its permit when it completes, fails or is cancelled.
+     * Throws 503 if no permit is free.
+     */
+    public <T> Flux<T> limit(Flux<T> stream) {
+        if (!tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many concurrent streams, retry later");
+        }
+        return stream.doFinally(signal -> release());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("restriction.hours.streams.active", permits,
+                semaphore -> maxConcurrent - semaphore.availablePermits())
+            .description("Streamed responses currently being written")
+            .register(registry);
+        FunctionCounter.builder("restriction.hours.streams.rejected", rejected, AtomicLong::get)
+            .description("Streamed responses refused with 503 because every streaming permit was taken")
+            .register(registry);
+    }
+}
@@ -0,0 +1,33 @@
+-- Restriction hours schema. Applied once per database by Flyway; later changes go into new migrations.
+
+-- Dictionary of (category, category_desc) pairs, so rows carry a 4-byte id instead of two strings
+CREATE TABLE restriction_categories (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    category VARCHAR(255) NOT NULL,
+    category_desc VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_restriction_categories UNIQUE (category, category_desc)
+);
+
+-- day_of_week holds the ISO day number: 1 = Monday ... 7 = Sunday
+CREATE TABLE restriction_hours (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    store_id INTEGER NOT NULL,
+    day_of_week SMALLINT NOT NULL CHECK (day_of_week >= 1 AND day_of_week <= 7),
+    category_id INTEGER NOT NULL REFERENCES restriction_categories(id),
+    category_code INTEGER NOT NULL,
+    has_restriction_hour BOOLEAN NOT NULL,
+    start_hour INTEGER CHECK (start_hour >= 0 AND start_hour <= 23),
+    end_hour INTEGER CHECK (end_hour >= 0 AND end_hour <= 23),
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Create indexes for better query performance
+CREATE INDEX idx_restriction_hours_store_id ON restriction_hours(store_id);
+-- Leading filter column followed by store_id serves both the lookup and keyset paging on (store_id, id);
+-- H2 appends the primary key to every secondary index
+CREATE INDEX idx_restriction_hours_day_store ON restriction_hours(day_of_week, store_id);
+CREATE INDEX idx_restriction_hours_category_code_store ON restriction_hours(category_code, store_id);
+CREATE INDEX idx_restriction_hours_has_restriction_store ON restriction_hours(has_restriction_hour, store_id);
+CREATE INDEX idx_restriction_hours_store_day_category ON restriction_hours(store_id, day_of_week, category_code);
+-- "Active at" lookups: rows of a day with restrictions enabled, narrowed by their hour window
+CREATE INDEX idx_restriction_hours_day_active_hours ON restriction_hours(day_of_week, has_restriction_hour, start_hour, end_hour);
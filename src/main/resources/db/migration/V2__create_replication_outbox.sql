@@ -0,0 +1,20 @@
+-- Change log for nodes sharing one database (restriction-hours.replication.enabled). Each write
+-- transaction increments the single version row and records the keys it touched under the new version.
+-- The row stays locked until commit, so versions become visible in order and a node that has applied
+-- version N only needs the entries above N.
+CREATE TABLE restriction_hours_version (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+INSERT INTO restriction_hours_version (id, version) VALUES (1, 0);
+
+CREATE TABLE restriction_hours_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    store_id INTEGER NOT NULL,
+    day_of_week SMALLINT NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    category_code INTEGER NOT NULL,
+    created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+CREATE INDEX idx_restriction_hours_outbox_version ON restriction_hours_outbox(version);
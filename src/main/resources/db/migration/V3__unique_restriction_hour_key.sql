@@ -0,0 +1,36 @@
+-- Enforce the composite key (store_id, day_of_week, category, category_code) in the database, so
+-- concurrent inserts of the same key cannot both commit.
+--
+-- category only lives in restriction_categories, paired with its description, so category names get
+-- their own ids and every row carries the id of its name next to category_id. The composite foreign
+-- key keeps the two consistent, and the unique constraint is declared on the name id.
+
+CREATE TABLE restriction_category_names (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    category VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_restriction_category_names UNIQUE (category)
+);
+
+INSERT INTO restriction_category_names (category)
+SELECT DISTINCT category FROM restriction_categories ORDER BY category;
+
+ALTER TABLE restriction_categories ADD COLUMN name_id INTEGER;
+UPDATE restriction_categories c
+SET name_id = (SELECT n.id FROM restriction_category_names n WHERE n.category = c.category);
+ALTER TABLE restriction_categories ALTER COLUMN name_id SET NOT NULL;
+ALTER TABLE restriction_categories ADD CONSTRAINT fk_restriction_categories_name
+    FOREIGN KEY (name_id) REFERENCES restriction_category_names(id);
+ALTER TABLE restriction_categories ADD CONSTRAINT uk_restriction_categories_id_name UNIQUE (id, name_id);
+
+ALTER TABLE restriction_hours ADD COLUMN category_name_id INTEGER;
+UPDATE restriction_hours rh
+SET category_name_id = (SELECT c.name_id FROM restriction_categories c WHERE c.id = rh.category_id);
+ALTER TABLE restriction_hours ALTER COLUMN category_name_id SET NOT NULL;
+ALTER TABLE restriction_hours ADD CONSTRAINT fk_restriction_hours_category
+    FOREIGN KEY (category_id, category_name_id) REFERENCES restriction_categories(id, name_id);
+
+-- Fails if the table already holds duplicate keys; they have to be merged by hand before migrating.
+-- Its index starts with the columns of idx_restriction_hours_store_day_category, which is dropped.
+ALTER TABLE restriction_hours ADD CONSTRAINT uk_restriction_hours_key
+    UNIQUE (store_id, day_of_week, category_code, category_name_id);
+DROP INDEX idx_restriction_hours_store_day_category;
@@ -0,0 +1,6 @@
+-- One row per store whose schedule has been replaced. PUT /store/{storeId}/schedule locks the row of its
+-- store (SELECT ... FOR UPDATE) before reading the current rows, so replaces of the same store run one
+-- after another, including for stores that have no rows yet.
+CREATE TABLE restriction_hours_store_locks (
+    store_id INTEGER PRIMARY KEY
+);
@@ -0,0 +1,54 @@
+-- Sample data for restriction_hours table, only applied where db/sample-data is a Flyway location (the in-memory default)
+-- Category dictionary, ids assigned in insertion order: 1 = BEER, 2 = LIQUOR, 3 = Single Serve Beer, 4 = Wine
+INSERT INTO restriction_categories (category, category_desc) VALUES
+('ALCOHOL', 'BEER'),
+('ALCOHOL', 'LIQUOR'),
+('ALCOHOL', 'Single Serve Beer'),
+('ALCOHOL', 'Wine');
+
+-- day_of_week: 1 = Monday ... 7 = Sunday
+INSERT INTO restriction_hours (store_id, day_of_week, category_id, category_code, has_restriction_hour, start_hour, end_hour) VALUES
+-- Store 1 - BEER category (code 101)
+(1, 1, 1, 101, true, 6, 12),
+(1, 2, 1, 101, true, 6, 12),
+(1, 3, 1, 101, true, 6, 12),
+(1, 4, 1, 101, true, 6, 12),
+(1, 5, 1, 101, true, 6, 12),
+(1, 6, 1, 101, true, 6, 12),
+(1, 7, 1, 101, true, 6, 12),
+
+-- Store 2 - LIQUOR category (code 102)
+(2, 1, 2, 102, true, 6, 12),
+(2, 2, 2, 102, true, 6, 12),
+(2, 3, 2, 102, true, 6, 12),
+(2, 4, 2, 102, true, 6, 12),
+(2, 5, 2, 102, true, 6, 12),
+(2, 6, 2, 102, true, 6, 12),
+(2, 7, 2, 102, true, 6, 12),
+
+-- Store 3 - Single Serve Beer category (code 103)
+(3, 1, 3, 103, true, 6, 12),
+(3, 2, 3, 103, true, 6, 12),
+(3, 3, 3, 103, true, 6, 12),
+(3, 4, 3, 103, true, 6, 12),
+(3, 5, 3, 103, true, 6, 12),
+(3, 6, 3, 103, true, 6, 12),
+(3, 7, 3, 103, true, 6, 12),
+
+-- Store 4 - Wine category (code 104)
+(4, 1, 4, 104, true, 6, 12),
+(4, 2, 4, 104, true, 6, 12),
+(4, 3, 4, 104, true, 6, 12),
+(4, 4, 4, 104, true, 6, 12),
+(4, 5, 4, 104, true, 6, 12),
+(4, 6, 4, 104, true, 6, 12),
+(4, 7, 4, 104, true, 6, 12),
+
+-- Store 5 - BEER category with different hours
+(5, 1, 1, 101, true, 8, 14),
+(5, 2, 1, 101, true, 8, 14),
+(5, 3, 1, 101, false, 0, 0),
+(5, 4, 1, 101, true, 8, 14),
+(5, 5, 1, 101, true, 8, 14),
+(5, 6, 1, 101, true, 8, 14),
+(5, 7, 1, 101, false, 0, 0); 
@@ -0,0 +1,90 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Staged changes stay invisible until publish(), and the id of a released pair is only handed out
+ * again once no published slot can refer to it.
+ */
+class ActiveHourIndexTest {
+
+    private static final int MONDAY = 0;
+
+    private final ActiveHourIndex index = new ActiveHourIndex();
+
+    @Test
+    void stagedChangesAreVisibleOnlyAfterPublish() {
+        index.replace(1, Map.of(), Map.of(10, mondayHours(5, 6)));
+        assertEquals(List.of(), index.activeAt(MONDAY, 5));
+
+        index.publish();
+        assertEquals(List.of(new ActiveRestriction(1, 10)), index.activeAt(MONDAY, 5));
+        assertEquals(List.of(), index.activeAt(MONDAY, 6));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void releasedPairIdIsReusedOnlyAfterPublish() {
+        index.replace(1, Map.of(), Map.of(10, mondayHours(5, 6)));
+        index.publish();
+
+        // Releasing (1, 10) and adding (2, 20) in one change must give (2, 20) a fresh id
+        index.replace(1, Map.of(10, mondayHours(5, 6)), Map.of());
+        index.replace(2, Map.of(), Map.of(20, mondayHours(5, 6)));
+        assertEquals(2, nextId());
+        assertEquals(List.of(new ActiveRestriction(1, 10)), index.activeAt(MONDAY, 5));
+        index.publish();
+        assertEquals(List.of(new ActiveRestriction(2, 20)), index.activeAt(MONDAY, 5));
+        assertEquals(1, index.size());
+
+        // Now the id of (1, 10) is free; a reader of the published state still sees (2, 20) only
+        index.replace(2, Map.of(20, mondayHours(5, 6)), Map.of());
+        index.replace(3, Map.of(), Map.of(30, mondayHours(5, 6)));
+        assertEquals(2, nextId());
+        assertEquals(List.of(new ActiveRestriction(2, 20)), index.activeAt(MONDAY, 5));
+        index.publish();
+        assertEquals(List.of(new ActiveRestriction(3, 30)), index.activeAt(MONDAY, 5));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void pairWithHoursLeftKeepsItsId() {
+        index.replace(1, Map.of(), Map.of(10, mondayHours(5, 7)));
+        index.publish();
+
+        index.replace(1, Map.of(10, mondayHours(5, 7)), Map.of(10, mondayHours(6, 7)));
+        index.publish();
+        assertEquals(List.of(), index.activeAt(MONDAY, 5));
+        assertEquals(List.of(new ActiveRestriction(1, 10)), index.activeAt(MONDAY, 6));
+        assertEquals(1, index.size());
+        assertEquals(1, nextId());
+    }
+
+    @Test
+    void clearDropsEveryPair() {
+        index.replace(1, Map.of(), Map.of(10, mondayHours(5, 6)));
+        index.publish();
+
+        index.clear();
+        assertEquals(List.of(), index.activeAt(MONDAY, 5));
+        assertEquals(0, index.size());
+    }
+
+    // Week masks restricting Monday from fromHour up to (not including) toHour
+    private static int[] mondayHours(int fromHour, int toHour) {
+        int[] masks = new int[RestrictionEvaluationEngine.DAYS_PER_WEEK];
+        masks[MONDAY] = ((1 << toHour) - 1) & ~((1 << fromHour) - 1);
+        return masks;
+    }
+
+    private int nextId() {
+        return (int) ReflectionTestUtils.getField(index, "nextId");
+    }
+}
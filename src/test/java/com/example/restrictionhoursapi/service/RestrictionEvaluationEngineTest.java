@@ -0,0 +1,109 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.service.RestrictionEvaluationEngine.ActiveRestriction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Window semantics of compiled schedules and the active-hour index, with the engine fed from a
+ * mocked RestrictionHourSnapshot.
+ */
+class RestrictionEvaluationEngineTest {
+
+    private static final int STORE_ID = 1;
+
+    private final RestrictionHourSnapshot snapshot = mock(RestrictionHourSnapshot.class);
+    private final RestrictionEvaluationEngine engine = new RestrictionEvaluationEngine();
+
+    @BeforeEach
+    void injectSnapshot() {
+        ReflectionTestUtils.setField(engine, "restrictionHourSnapshot", snapshot);
+    }
+
+    @Test
+    void overnightWindowWrapsIntoTheNextDay() {
+        load(view(10, "Monday", true, 22, 2));
+
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(21)));
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(22)));
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(23)));
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(24)));
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(25)));
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(26)));
+        assertEquals(List.of(new ActiveRestriction(STORE_ID, 10)), engine.getActiveAt(monday(25)));
+        assertEquals(List.of(), engine.getActiveAt(monday(26)));
+    }
+
+    @Test
+    void sundayOvernightWindowWrapsIntoMonday() {
+        load(view(10, "Sunday", true, 23, 1));
+
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(0)));
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(1)));
+        assertTrue(engine.isRestricted(STORE_ID, 10, monday(6 * 24 + 23)));
+    }
+
+    @Test
+    void equalStartAndEndRestrictTheWholeDay() {
+        load(view(10, "Monday", true, 8, 8));
+
+        for (int hour = 0; hour < 24; hour++) {
+            assertTrue(engine.isRestricted(STORE_ID, 10, monday(hour)), "hour " + hour);
+        }
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(24)));
+        assertEquals(RestrictionEvaluationEngine.FULL_DAY_MASK, engine.getStoreSchedule(STORE_ID).getMasks().get(10)[0]);
+    }
+
+    @Test
+    void rowWithoutRestrictionHourRestrictsNothing() {
+        load(view(10, "Monday", false, 6, 12), view(20, "Monday", true, 6, 12));
+
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(7)));
+        assertTrue(engine.isRestricted(STORE_ID, 20, monday(7)));
+        assertArrayEquals(new int[] {20}, engine.getRestrictedCategoryCodes(STORE_ID, new int[] {20, 10, 20}, monday(7)));
+        assertEquals(List.of(20), List.copyOf(engine.getStoreSchedule(STORE_ID).getMasks().keySet()));
+        assertEquals(List.of(new ActiveRestriction(STORE_ID, 20)), engine.getActiveAt(monday(7)));
+    }
+
+    @Test
+    void removedStoreIsNoLongerActive() {
+        load(view(10, "Monday", true, 6, 12));
+        assertEquals(List.of(new ActiveRestriction(STORE_ID, 10)), engine.getActiveAt(monday(7)));
+
+        when(snapshot.getByStoreId(STORE_ID)).thenReturn(List.of());
+        engine.refresh(List.of(STORE_ID));
+
+        assertEquals(List.of(), engine.getActiveAt(monday(7)));
+        assertFalse(engine.isRestricted(STORE_ID, 10, monday(7)));
+        assertTrue(engine.getStoreSchedule(STORE_ID).getMasks().isEmpty());
+    }
+
+    private void load(RestrictionHourView... views) {
+        when(snapshot.getStores()).thenReturn(List.of(List.of(views)));
+        when(snapshot.getByStoreId(STORE_ID)).thenReturn(List.of(views));
+        engine.load();
+    }
+
+    private static RestrictionHourView view(int categoryCode, String dayOfWeek, boolean hasRestrictionHour,
+                                            int startHour, int endHour) {
+        return new RestrictionHourView((long) categoryCode, STORE_ID, dayOfWeek, "ALCOHOL", categoryCode, "BEER",
+            hasRestrictionHour, startHour, endHour, 0L);
+    }
+
+    // Monday 1 January 2024 plus the given number of hours
+    private static LocalDateTime monday(int hours) {
+        return LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(hours);
+    }
+}
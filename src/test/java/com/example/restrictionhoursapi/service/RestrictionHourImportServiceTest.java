@@ -0,0 +1,69 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.repository.RestrictionCategoryDictionary;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.example.restrictionhoursapi.service.ImportReport.RowError;
+import com.example.restrictionhoursapi.service.RestrictionHourImportService.Format;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A category or description wider than its column is reported as an INVALID row of the import
+ * instead of failing the whole upload, and is never stored truncated.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class RestrictionHourImportServiceTest {
+
+    @Autowired
+    private RestrictionHourImportService restrictionHourImportService;
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    @Autowired
+    private RestrictionCategoryDictionary restrictionCategoryDictionary;
+
+    @Test
+    void overLongCategoryIsReportedAsInvalidRow() throws Exception {
+        String tooLong = "x".repeat(256);
+        String ndjson = String.join("\n",
+            row(93_000, "ALCOHOL", "BEER"),
+            row(93_001, tooLong, "BEER"),
+            row(93_002, "ALCOHOL", tooLong));
+
+        ImportReport report = restrictionHourImportService.importRestrictionHours(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), Format.NDJSON);
+
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getRowsRead());
+        assertEquals(1, report.getRowsImported());
+        assertEquals(List.of(
+                new RowError(2, "INVALID: Category must be at most 255 characters"),
+                new RowError(3, "INVALID: Category description must be at most 255 characters")),
+            report.getErrors());
+        assertEquals(1, restrictionHourRepository.findByStoreId(93_000).size());
+    }
+
+    @Test
+    void dictionaryDoesNotTruncateOverLongCategory() {
+        RestrictionHour restrictionHour = new RestrictionHour(93_010, "Monday", "y".repeat(256), 1, "BEER", true, 6, 12);
+        assertThrows(DataIntegrityViolationException.class, () -> restrictionCategoryDictionary.assignIds(restrictionHour));
+    }
+
+    private static String row(int storeId, String category, String categoryDesc) {
+        return "{\"storeId\":" + storeId + ",\"dayOfWeek\":\"Monday\",\"category\":\"" + category
+            + "\",\"categoryCode\":1,\"categoryDesc\":\"" + categoryDesc
+            + "\",\"hasRestrictionHour\":true,\"startHour\":6,\"endHour\":12}";
+    }
+}
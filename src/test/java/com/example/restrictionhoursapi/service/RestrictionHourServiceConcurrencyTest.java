@@ -0,0 +1,180 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import com.example.restrictionhoursapi.entity.RestrictionHourKey;
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.repository.RestrictionHourJdbcRepository;
+import com.example.restrictionhoursapi.repository.RestrictionHourRepository;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.Reason;
+import com.example.restrictionhoursapi.service.RestrictionHourConflictException.RowConflict;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Concurrent PUT /store/{storeId}/schedule requests for the same store must not merge: the store
+ * ends up with exactly the schedule of one of them. A row deleted while a replace updates it must
+ * not survive in the in-memory read models.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class RestrictionHourServiceConcurrencyTest {
+
+    private static final int ROUNDS = 30;
+
+    @Autowired
+    private RestrictionHourService restrictionHourService;
+
+    @Autowired
+    private RestrictionHourRepository restrictionHourRepository;
+
+    @SpyBean
+    private RestrictionHourJdbcRepository restrictionHourJdbcRepository;
+
+    @Autowired
+    private RestrictionHourSnapshot restrictionHourSnapshot;
+
+    @Autowired
+    private RestrictionEvaluationEngine restrictionEvaluationEngine;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentReplacesOfAStoreLeaveOneOfTheSchedules() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            int storeId = 90_000 + round;
+            // Every other store starts with k1 already stored, the others have no rows (and no lock row) yet
+            if (round % 2 == 0) {
+                restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1)));
+            }
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<ScheduleReplaceResult> first = executor.submit(() -> {
+                start.await();
+                return restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1), row(storeId, 2)));
+            });
+            Future<ScheduleReplaceResult> second = executor.submit(() -> {
+                start.await();
+                return restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1), row(storeId, 3)));
+            });
+            first.get();
+            second.get();
+
+            Set<RestrictionHourKey> stored = restrictionHourRepository.findByStoreId(storeId).stream()
+                .map(RestrictionHourKey::of)
+                .collect(Collectors.toSet());
+            Set<RestrictionHourKey> firstSchedule = Set.of(key(storeId, 1), key(storeId, 2));
+            Set<RestrictionHourKey> secondSchedule = Set.of(key(storeId, 1), key(storeId, 3));
+            assertTrue(stored.equals(firstSchedule) || stored.equals(secondSchedule),
+                "Store " + storeId + " holds a mix of both schedules: " + stored);
+        }
+    }
+
+    @Test
+    void deleteDuringReplaceLeavesNoPhantomRow() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            int storeId = 91_000 + round;
+            restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1), row(storeId, 2)));
+
+            // The replace updates k1 (new hours) while the delete removes it
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<?> replace = executor.submit(() -> {
+                start.await();
+                return restrictionHourService.replaceStoreSchedule(storeId,
+                    List.of(row(storeId, 1, 7, 13), row(storeId, 2)));
+            });
+            Future<?> delete = executor.submit(() -> {
+                start.await();
+                return restrictionHourService.deleteRestrictionHour(storeId, "Monday", "ALCOHOL", 1);
+            });
+            awaitAllowing(replace, RestrictionHourConflictException.class);
+            awaitAllowing(delete, OptimisticLockingFailureException.class);
+
+            Set<RestrictionHourKey> storedKeys = assertReadModelsMatchDatabase(storeId);
+            assertTrue(storedKeys.equals(Set.of(key(storeId, 1), key(storeId, 2))) || storedKeys.equals(Set.of(key(storeId, 2))),
+                "Store " + storeId + " holds " + storedKeys);
+        }
+    }
+
+    @Test
+    void deleteBetweenReadAndUpdateOfAReplaceIsRejected() throws Exception {
+        int storeId = 92_000;
+        restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1), row(storeId, 2)));
+
+        // Commit the delete of k1 after the replace has read it but before it updates it
+        doAnswer(invocation -> {
+            executor.submit(() -> restrictionHourService.deleteRestrictionHour(storeId, "Monday", "ALCOHOL", 1)).get();
+            return invocation.callRealMethod();
+        }).when(restrictionHourJdbcRepository).updateAll(anyList());
+
+        RestrictionHourConflictException conflict = assertThrows(RestrictionHourConflictException.class,
+            () -> restrictionHourService.replaceStoreSchedule(storeId, List.of(row(storeId, 1, 7, 13), row(storeId, 2))));
+        assertEquals(List.of(Reason.CONCURRENT_WRITE),
+            conflict.getConflicts().stream().map(RowConflict::reason).toList());
+
+        assertEquals(Set.of(key(storeId, 2)), assertReadModelsMatchDatabase(storeId));
+    }
+
+    // Asserts the snapshot and the engine hold what the database holds; returns the stored keys
+    private Set<RestrictionHourKey> assertReadModelsMatchDatabase(int storeId) {
+        List<RestrictionHourView> stored = restrictionHourRepository.findByStoreId(storeId);
+        assertEquals(new HashSet<>(stored), new HashSet<>(restrictionHourSnapshot.getByStoreId(storeId)),
+            "Snapshot of store " + storeId + " differs from the database");
+        assertEquals(stored.stream().map(RestrictionHourView::categoryCode).collect(Collectors.toSet()),
+            restrictionEvaluationEngine.getStoreSchedule(storeId).getMasks().keySet(),
+            "Engine schedule of store " + storeId + " differs from the database");
+        return stored.stream().map(RestrictionHourKey::of).collect(Collectors.toSet());
+    }
+
+    // The losing side of a race may fail with the given exception; anything else fails the test
+    private static void awaitAllowing(Future<?> future, Class<? extends Exception> allowed) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (!allowed.isInstance(e.getCause())) {
+                throw e;
+            }
+        }
+    }
+
+    private static RestrictionHour row(int storeId, int categoryCode) {
+        return row(storeId, categoryCode, 6, 12);
+    }
+
+    private static RestrictionHour row(int storeId, int categoryCode, int startHour, int endHour) {
+        return new RestrictionHour(storeId, "Monday", "ALCOHOL", categoryCode, "BEER", true, startHour, endHour);
+    }
+
+    private static RestrictionHourKey key(int storeId, int categoryCode) {
+        return new RestrictionHourKey(storeId, "Monday", "ALCOHOL", categoryCode);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHourView;
+import com.example.restrictionhoursapi.service.RestrictionHourSnapshotFile.Fingerprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A written snapshot file reads back the same rows while the table fingerprint matches, and is
+ * ignored when it is truncated or the table has changed since.
+ */
+class RestrictionHourSnapshotFileTest {
+
+    private static final List<RestrictionHourView> STORE_1 = List.of(
+        new RestrictionHourView(1L, 1, "Monday", "ALCOHOL", 10, "BEER", true, 22, 2, 0L),
+        new RestrictionHourView(4L, 1, "Sunday", "ALCOHOL", 11, "WINE", false, null, null, 3L));
+    private static final List<RestrictionHourView> STORE_2 = List.of(
+        new RestrictionHourView(2L, 2, "Friday", "TOBACCO", 20, "CIGARETTES", true, 0, 0, 1L));
+
+    @TempDir
+    Path directory;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private RestrictionHourSnapshotFile snapshotFile;
+    private Path path;
+
+    @BeforeEach
+    void createFile() {
+        path = directory.resolve("snapshot.bin");
+        snapshotFile = new RestrictionHourSnapshotFile(path.toString());
+        ReflectionTestUtils.setField(snapshotFile, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void readsBackWrittenRows() {
+        snapshotFile.write(List.of(STORE_1, STORE_2));
+        tableFingerprint(new Fingerprint(3, 4, 4));
+
+        List<RestrictionHourView> expected = List.of(STORE_1.get(0), STORE_1.get(1), STORE_2.get(0));
+        assertEquals(Optional.of(expected), snapshotFile.read());
+    }
+
+    @Test
+    void ignoresTruncatedFile() throws Exception {
+        snapshotFile.write(List.of(STORE_1, STORE_2));
+        tableFingerprint(new Fingerprint(3, 4, 4));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - RestrictionHourSnapshotFile.RECORD_SIZE / 2);
+        }
+
+        assertEquals(Optional.empty(), snapshotFile.read());
+    }
+
+    @Test
+    void ignoresFileWrittenBeforeTheTableChanged() {
+        snapshotFile.write(List.of(STORE_1, STORE_2));
+
+        // One row updated since the file was written
+        tableFingerprint(new Fingerprint(3, 4, 5));
+        assertEquals(Optional.empty(), snapshotFile.read());
+
+        // One row inserted and another deleted: same count, higher id
+        tableFingerprint(new Fingerprint(3, 5, 4));
+        assertEquals(Optional.empty(), snapshotFile.read());
+    }
+
+    @Test
+    void readsNothingWithoutFile() {
+        assertEquals(Optional.empty(), snapshotFile.read());
+    }
+
+    private void tableFingerprint(Fingerprint fingerprint) {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(fingerprint);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.restrictionhoursapi.service;
+
+import com.example.restrictionhoursapi.entity.RestrictionHour;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Category and description longer than their restriction_categories columns are rejected up front,
+ * so they never reach RestrictionCategoryDictionary.
+ */
+class RestrictionHourValidatorTest {
+
+    private final RestrictionHourValidator validator = new RestrictionHourValidator();
+
+    @Test
+    void acceptsCategoryAndDescriptionOfColumnWidth() {
+        String longest = "x".repeat(RestrictionHourValidator.MAX_CATEGORY_LENGTH);
+        assertNull(validator.validate(row(longest, longest)));
+    }
+
+    @Test
+    void rejectsOverLongCategory() {
+        String tooLong = "x".repeat(RestrictionHourValidator.MAX_CATEGORY_LENGTH + 1);
+        assertEquals("Category must be at most 255 characters", validator.validate(row(tooLong, "BEER")));
+    }
+
+    @Test
+    void rejectsOverLongDescription() {
+        String tooLong = "x".repeat(RestrictionHourValidator.MAX_CATEGORY_LENGTH + 1);
+        assertEquals("Category description must be at most 255 characters",
+            validator.validate(row("ALCOHOL", tooLong)));
+    }
+
+    private static RestrictionHour row(String category, String categoryDesc) {
+        return new RestrictionHour(1, "Monday", category, 1, categoryDesc, true, 6, 12);
+    }
+}